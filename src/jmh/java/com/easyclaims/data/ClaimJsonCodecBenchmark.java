@@ -0,0 +1,166 @@
+package com.easyclaims.data;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ClaimJsonCodec} with the reflective Gson binding it replaced, for
+ * writing and reading one player claims file.
+ *
+ * Run with: mvn -Pbenchmark compile exec:exec (JMH options via -Djmh.args=...)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClaimJsonCodecBenchmark {
+
+    @Param({"10", "200"})
+    public int claimCount;
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final UUID playerId = UUID.randomUUID();
+    private PlayerClaims claims;
+    private Path directory;
+    private Path streamingFile;
+    private Path reflectiveFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        claims = new PlayerClaims(playerId);
+        for (int i = 0; i < claimCount; i++) {
+            claims.addClaim(new Claim("default", i % 64, i / 64, 1_700_000_000_000L + i, true, false, null));
+        }
+        for (int i = 0; i < 10; i++) {
+            claims.addTrustedPlayer(UUID.randomUUID(), "player" + i, TrustLevel.BUILD);
+        }
+        claims.setBonusClaimSlots(5);
+
+        directory = Files.createTempDirectory("easyclaims-bench");
+        streamingFile = directory.resolve("streaming.json");
+        reflectiveFile = directory.resolve("reflective.json");
+        ClaimJsonCodec.writePlayerClaims(streamingFile, claims, false);
+        writeReflective(reflectiveFile, claims);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(streamingFile);
+        Files.deleteIfExists(reflectiveFile);
+        Files.deleteIfExists(directory);
+    }
+
+    // ===== BENCHMARKS =====
+
+    @Benchmark
+    public void writeStreaming() throws IOException {
+        ClaimJsonCodec.writePlayerClaims(streamingFile, claims, false);
+    }
+
+    @Benchmark
+    public void writeReflective() throws IOException {
+        writeReflective(reflectiveFile, claims);
+    }
+
+    @Benchmark
+    public PlayerClaims readStreaming() throws IOException {
+        return ClaimJsonCodec.readPlayerClaims(streamingFile, playerId);
+    }
+
+    @Benchmark
+    public PlayerClaims readReflective() throws IOException {
+        return readReflective(reflectiveFile, playerId);
+    }
+
+    // ===== REFLECTIVE BASELINE (the pre-codec save/load path) =====
+
+    private void writeReflective(Path file, PlayerClaims claims) throws IOException {
+        PlayerClaimsJson data = new PlayerClaimsJson();
+        data.claims = new ArrayList<>();
+        data.trustedPlayersData = new HashMap<>();
+        for (Claim claim : claims.getClaims()) {
+            ClaimJson c = new ClaimJson();
+            c.world = claim.getWorld();
+            c.chunkX = claim.getChunkX();
+            c.chunkZ = claim.getChunkZ();
+            c.claimedAt = claim.getClaimedAt();
+            c.pvpEnabled = claim.isPvpEnabled();
+            c.adminClaim = claim.isAdminClaim();
+            c.displayName = claim.getDisplayName();
+            data.claims.add(c);
+        }
+        for (Map.Entry<UUID, TrustedPlayer> entry : claims.getTrustedPlayersMap().entrySet()) {
+            TrustedPlayerJson tpj = new TrustedPlayerJson();
+            tpj.name = entry.getValue().getName();
+            tpj.level = entry.getValue().getLevel().getKey();
+            data.trustedPlayersData.put(entry.getKey().toString(), tpj);
+        }
+        data.bonusClaimSlots = claims.getBonusClaimSlots();
+        data.bonusMaxClaims = claims.getBonusMaxClaims();
+        data.unlimitedClaims = claims.hasUnlimitedClaims();
+        Files.writeString(file, gson.toJson(data));
+    }
+
+    private PlayerClaims readReflective(Path file, UUID playerId) throws IOException {
+        PlayerClaimsJson data = gson.fromJson(Files.readString(file), PlayerClaimsJson.class);
+        PlayerClaims claims = new PlayerClaims(playerId);
+        List<Claim> loaded = new ArrayList<>(data.claims.size());
+        for (ClaimJson c : data.claims) {
+            boolean pvpEnabled = c.pvpEnabled != null ? c.pvpEnabled : true;
+            boolean adminClaim = c.adminClaim != null ? c.adminClaim : false;
+            loaded.add(new Claim(c.world, c.chunkX, c.chunkZ, c.claimedAt, pvpEnabled, adminClaim, c.displayName));
+        }
+        claims.addClaims(loaded); // Same bulk insert as the codec, so only the parsing differs
+        for (Map.Entry<String, TrustedPlayerJson> entry : data.trustedPlayersData.entrySet()) {
+            TrustLevel level = TrustLevel.fromString(entry.getValue().level);
+            claims.addTrustedPlayer(UUID.fromString(entry.getKey()), entry.getValue().name,
+                    level != null ? level : TrustLevel.BUILD);
+        }
+        claims.setBonusClaimSlots(data.bonusClaimSlots);
+        claims.setBonusMaxClaims(data.bonusMaxClaims);
+        claims.setUnlimitedClaims(data.unlimitedClaims);
+        return claims;
+    }
+
+    private static class PlayerClaimsJson {
+        List<ClaimJson> claims;
+        Map<String, TrustedPlayerJson> trustedPlayersData;
+        int bonusClaimSlots = 0;
+        int bonusMaxClaims = 0;
+        boolean unlimitedClaims = false;
+    }
+
+    private static class ClaimJson {
+        String world;
+        int chunkX;
+        int chunkZ;
+        long claimedAt;
+        Boolean pvpEnabled;
+        Boolean adminClaim;
+        String displayName;
+    }
+
+    private static class TrustedPlayerJson {
+        String name;
+        String level;
+    }
+}
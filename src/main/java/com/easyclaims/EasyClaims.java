@@ -3,11 +3,14 @@ package com.easyclaims;
 import com.easyclaims.commands.EasyClaimsCommand;
 import com.easyclaims.config.BlockGroups;
 import com.easyclaims.config.PluginConfig;
+import com.easyclaims.data.ClaimBackend;
 import com.easyclaims.data.ClaimStorage;
 import com.easyclaims.data.PlaytimeStorage;
+import com.easyclaims.data.WorldRegistry;
 import com.easyclaims.listeners.ClaimProtectionListener;
 import com.easyclaims.managers.ClaimManager;
 import com.easyclaims.managers.PlaytimeManager;
+import com.easyclaims.managers.ProtectionEngine;
 import com.easyclaims.map.EasyClaimsWorldMapProvider;
 import com.easyclaims.systems.BlockBreakProtectionSystem;
 import com.easyclaims.systems.BlockDamageProtectionSystem;
@@ -29,6 +32,7 @@ import com.hypixel.hytale.math.util.ChunkUtil;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -49,6 +53,7 @@ public class EasyClaims extends JavaPlugin {
     private PlaytimeStorage playtimeStorage;
     private ClaimManager claimManager;
     private PlaytimeManager playtimeManager;
+    private ProtectionEngine protectionEngine;
     private ClaimProtectionListener protectionListener;
     private ClaimTitleSystem claimTitleSystem;
 
@@ -68,7 +73,20 @@ public class EasyClaims extends JavaPlugin {
         blockGroups = new BlockGroups(getDataDirectory());
 
         // Initialize storage
-        claimStorage = new ClaimStorage(getDataDirectory());
+        ClaimBackend backend;
+        try {
+            backend = ClaimStorage.createBackend(config.getStorageBackend(), getDataDirectory(), config.isPrettyDataFiles());
+        } catch (IOException e) {
+            getLogger().atWarning().withCause(e).log("Could not open the %s claim database - falling back to JSON files",
+                    config.getStorageBackend());
+            backend = ClaimStorage.createJsonBackend(getDataDirectory(), config.isPrettyDataFiles());
+        }
+        claimStorage = new ClaimStorage(getDataDirectory(), config.getClaimCacheSize(), backend);
+        claimStorage.setPvpInPlayerClaims(config.isPvpInPlayerClaims());
+        String claimCheck = config.getStartupClaimCheck();
+        if (claimCheck.equals("verify") || claimCheck.equals("repair")) {
+            claimStorage.verifyAllClaimsInBackground(claimCheck.equals("repair"));
+        }
         playtimeStorage = new PlaytimeStorage(getDataDirectory());
 
         // Initialize static accessor for map system
@@ -76,7 +94,10 @@ public class EasyClaims extends JavaPlugin {
 
         // Initialize managers
         claimManager = new ClaimManager(claimStorage, playtimeStorage, config, blockGroups);
+        protectionEngine = new ProtectionEngine(claimManager, getLogger());
         playtimeManager = new PlaytimeManager(playtimeStorage, config);
+        // Re-read admin permissions and clean up after departed players, off the world threads
+        playtimeManager.scheduleAtFixedRate(protectionEngine::refresh, ProtectionEngine.REFRESH_INTERVAL_MS);
 
         // Register the main command (all functionality under /easyclaims)
         getCommandRegistry().registerCommand(new EasyClaimsCommand(this));
@@ -105,12 +126,12 @@ public class EasyClaims extends JavaPlugin {
         // Register ECS block protection systems
         getLogger().atInfo().log("Registering ECS block protection systems...");
         try {
-            getEntityStoreRegistry().registerSystem(new BlockDamageProtectionSystem(claimManager, getLogger()));
-            getEntityStoreRegistry().registerSystem(new BlockBreakProtectionSystem(claimManager, getLogger()));
-            getEntityStoreRegistry().registerSystem(new BlockPlaceProtectionSystem(claimManager, getLogger()));
-            getEntityStoreRegistry().registerSystem(new BlockUseProtectionSystem(claimManager, getLogger()));
-            getEntityStoreRegistry().registerSystem(new ItemPickupProtectionSystem(claimManager, getLogger()));
-            getEntityStoreRegistry().registerSystem(new PvPProtectionSystem(claimManager, getLogger()));
+            getEntityStoreRegistry().registerSystem(new BlockDamageProtectionSystem(protectionEngine));
+            getEntityStoreRegistry().registerSystem(new BlockBreakProtectionSystem(protectionEngine));
+            getEntityStoreRegistry().registerSystem(new BlockPlaceProtectionSystem(protectionEngine));
+            getEntityStoreRegistry().registerSystem(new BlockUseProtectionSystem(protectionEngine));
+            getEntityStoreRegistry().registerSystem(new ItemPickupProtectionSystem(protectionEngine));
+            getEntityStoreRegistry().registerSystem(new PvPProtectionSystem(protectionEngine));
 
             // Register claim title system (shows banner when entering/leaving claims)
             claimTitleSystem = new ClaimTitleSystem(claimStorage);
@@ -128,6 +149,7 @@ public class EasyClaims extends JavaPlugin {
     private void onWorldAdd(AddWorldEvent event) {
         World world = event.getWorld();
         WORLDS.put(world.getName(), world);
+        WorldRegistry.getId(world.getName());
         getLogger().atWarning().log("[Map] World added: %s (deleteOnRemove=%s)", world.getName(), world.getWorldConfig().isDeleteOnRemove());
 
         // Set our custom world map provider for persistent worlds
@@ -234,10 +256,13 @@ public class EasyClaims extends JavaPlugin {
 
     @Override
     public void shutdown() {
-        // Shutdown playtime manager (saves all sessions)
+        // Shutdown playtime manager (ends all sessions), then save them once
         if (playtimeManager != null) {
             playtimeManager.shutdown();
         }
+        if (playtimeStorage != null) {
+            playtimeStorage.close();
+        }
 
         // Shutdown claim storage (flushes pending saves and stops background thread)
         if (claimStorage != null) {
@@ -253,6 +278,10 @@ public class EasyClaims extends JavaPlugin {
         return claimManager;
     }
 
+    public ProtectionEngine getProtectionEngine() {
+        return protectionEngine;
+    }
+
     public PlaytimeManager getPlaytimeManager() {
         return playtimeManager;
     }
@@ -286,6 +315,12 @@ public class EasyClaims extends JavaPlugin {
                 // Store player name for map display
                 claimStorage.setPlayerName(playerId, username);
 
+                // Warm the player's own claim data off the world thread
+                claimStorage.prefetch(playerId);
+
+                // Re-read their admin permission on the first protection check
+                protectionEngine.onPlayerConnect(playerId);
+
                 // Start playtime tracking
                 playtimeManager.onPlayerJoin(playerId);
 
@@ -308,6 +343,9 @@ public class EasyClaims extends JavaPlugin {
                 // Save playtime
                 playtimeManager.onPlayerLeave(playerId);
 
+                // Drop cached permission decisions and message cooldowns
+                protectionEngine.forgetPlayer(playerId);
+
                 // Clear title tracking for this player
                 if (claimTitleSystem != null) {
                     claimTitleSystem.removePlayer(playerId);
@@ -6,6 +6,7 @@ import com.easyclaims.data.Claim;
 import com.easyclaims.data.ClaimStorage;
 import com.easyclaims.data.PlayerClaims;
 import com.easyclaims.data.TrustedPlayer;
+import com.easyclaims.data.WorldClaimIndex;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -43,6 +44,17 @@ public class EasyClaimsAccess {
         return claimStorage.getClaimOwner(worldName, chunkX, chunkZ);
     }
 
+    /**
+     * Gets an immutable view of a world's claim owners, so a render can do all of its
+     * lookups against one consistent state.
+     */
+    public static WorldClaimIndex.Snapshot getIndexSnapshot(String worldName) {
+        if (claimStorage == null) {
+            return WorldClaimIndex.Snapshot.EMPTY;
+        }
+        return claimStorage.getIndexSnapshot(worldName);
+    }
+
     /**
      * Gets the name of a player by their UUID.
      */
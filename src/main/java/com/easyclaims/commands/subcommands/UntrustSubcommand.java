@@ -15,11 +15,9 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.easyclaims.EasyClaims;
 import com.easyclaims.data.PlayerClaims;
 import com.easyclaims.data.TrustLevel;
-import com.easyclaims.data.TrustedPlayer;
 
 import javax.annotation.Nonnull;
 import java.awt.Color;
-import java.util.Map;
 import java.util.UUID;
 
 public class UntrustSubcommand extends AbstractPlayerCommand {
@@ -57,12 +55,9 @@ public class UntrustSubcommand extends AbstractPlayerCommand {
             try {
                 targetId = UUID.fromString(playerInput);
             } catch (IllegalArgumentException e) {
-                for (Map.Entry<UUID, TrustedPlayer> entry : claims.getTrustedPlayersMap().entrySet()) {
-                    if (entry.getValue().getName().equalsIgnoreCase(playerInput)) {
-                        targetId = entry.getKey();
-                        targetName = entry.getValue().getName();
-                        break;
-                    }
+                targetId = claims.getTrustedPlayerByName(playerInput);
+                if (targetId != null) {
+                    targetName = claims.getTrustedPlayerName(targetId);
                 }
             }
         }
@@ -0,0 +1,68 @@
+package com.easyclaims.commands.subcommands.admin;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.easyclaims.EasyClaims;
+import com.easyclaims.managers.ProtectionEngine;
+import com.easyclaims.util.Messages;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * Admin command to toggle bypass mode. Admins bypass claim protection by default;
+ * turning bypass off lets them test claims as a regular player would.
+ * Usage: /easyclaims admin bypass [on/off]
+ */
+public class AdminBypassSubcommand extends AbstractPlayerCommand {
+    private final EasyClaims plugin;
+
+    public AdminBypassSubcommand(EasyClaims plugin) {
+        super("bypass", "Toggle bypassing claim protection");
+        this.plugin = plugin;
+        setAllowsExtraArguments(true); // Allow optional positional on/off argument
+        requirePermission("easyclaims.admin");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext ctx,
+                          @Nonnull Store<EntityStore> store,
+                          @Nonnull Ref<EntityStore> playerRef,
+                          @Nonnull PlayerRef playerData,
+                          @Nonnull World world) {
+        ProtectionEngine engine = plugin.getProtectionEngine();
+        UUID playerId = playerData.getUuid();
+
+        // Get optional state from raw input (everything after "bypass")
+        String state = null;
+        String input = ctx.getInputString();
+        int bypassIndex = input.toLowerCase().lastIndexOf("bypass");
+        if (bypassIndex >= 0) {
+            String afterBypass = input.substring(bypassIndex + 6).trim();
+            if (!afterBypass.isEmpty()) {
+                state = afterBypass.split("\\s+")[0]; // Take first word only
+            }
+        }
+
+        boolean enabled;
+        if (state == null || state.isEmpty()) {
+            // Toggle
+            enabled = !engine.isBypassEnabled(playerId);
+        } else if (state.equalsIgnoreCase("on") || state.equalsIgnoreCase("true") || state.equals("1")) {
+            enabled = true;
+        } else if (state.equalsIgnoreCase("off") || state.equalsIgnoreCase("false") || state.equals("0")) {
+            enabled = false;
+        } else {
+            playerData.sendMessage(Messages.helpEntry("easyclaims admin bypass", "on/off - Toggle bypass mode"));
+            return;
+        }
+
+        engine.setBypassEnabled(playerId, enabled);
+        playerData.sendMessage(enabled ? Messages.bypassEnabled() : Messages.bypassDisabled());
+    }
+}
@@ -0,0 +1,49 @@
+package com.easyclaims.commands.subcommands.admin;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.easyclaims.EasyClaims;
+
+import javax.annotation.Nonnull;
+import java.awt.Color;
+import java.nio.file.Path;
+
+/**
+ * Admin command to export the binary claim index as index.json for hand editing.
+ * An index.json that is newer than the region index files is imported on the next startup.
+ * Usage: /easyclaims admin exportindex
+ */
+public class AdminExportSubcommand extends AbstractPlayerCommand {
+    private final EasyClaims plugin;
+
+    private static final Color GREEN = new Color(85, 255, 85);
+    private static final Color RED = new Color(255, 85, 85);
+    private static final Color GRAY = new Color(170, 170, 170);
+
+    public AdminExportSubcommand(EasyClaims plugin) {
+        super("exportindex", "Export the claim index to index.json");
+        this.plugin = plugin;
+        requirePermission("easyclaims.admin");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext ctx,
+                          @Nonnull Store<EntityStore> store,
+                          @Nonnull Ref<EntityStore> playerRef,
+                          @Nonnull PlayerRef playerData,
+                          @Nonnull World world) {
+        Path exported = plugin.getClaimStorage().exportIndexJson();
+        if (exported == null) {
+            playerData.sendMessage(Message.raw("Failed to export the claim index. Check the server log.").color(RED));
+            return;
+        }
+        playerData.sendMessage(Message.raw("Exported claim index to " + exported).color(GREEN));
+        playerData.sendMessage(Message.raw("Edit it while the server is stopped; it is imported on next startup.").color(GRAY));
+    }
+}
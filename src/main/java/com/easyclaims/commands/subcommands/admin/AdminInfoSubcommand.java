@@ -44,6 +44,8 @@ public class AdminInfoSubcommand extends CommandBase {
         super("info", "View a player's claim statistics and bonuses");
         this.plugin = plugin;
         this.playerArg = withRequiredArg("player", "Player name or UUID", ArgTypes.STRING);
+        playerArg.suggest((sender, input, numParametersTyped, result) ->
+                plugin.getClaimStorage().findPlayerNames(input, 10).forEach(result::suggest));
         requirePermission("easyclaims.admin");
     }
 
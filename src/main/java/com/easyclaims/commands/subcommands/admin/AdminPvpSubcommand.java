@@ -84,13 +84,12 @@ public class AdminPvpSubcommand extends AbstractPlayerCommand {
             return;
         }
 
-        // Update claim
-        claim.setPvpEnabled(newPvpEnabled);
-
-        // Save the change
+        // Update and save the claim
         UUID owner = plugin.getClaimManager().getOwnerAt(worldName, position.getX(), position.getZ());
         if (owner != null) {
-            plugin.getClaimStorage().updatePlayerClaims(owner);
+            plugin.getClaimStorage().setClaimPvp(owner, claim, newPvpEnabled);
+        } else {
+            claim.setPvpEnabled(newPvpEnabled);
         }
 
         // Refresh map to show new PvP status
@@ -35,6 +35,8 @@ public class AdminReloadSubcommand extends AbstractPlayerCommand {
                           @Nonnull PlayerRef playerData,
                           @Nonnull World world) {
         plugin.getPluginConfig().reload();
+        plugin.getClaimStorage().setPvpInPlayerClaims(plugin.getPluginConfig().isPvpInPlayerClaims());
+        plugin.getClaimManager().getBlockGroups().reload();
         playerData.sendMessage(Message.raw("Configuration reloaded!").color(GREEN));
 
         // Show current config
@@ -0,0 +1,56 @@
+package com.easyclaims.commands.subcommands.admin;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.easyclaims.EasyClaims;
+import com.easyclaims.data.PlayerClaimsCache;
+import com.easyclaims.managers.ProtectionEngine;
+
+import javax.annotation.Nonnull;
+import java.awt.Color;
+
+/**
+ * Admin command to show claim storage statistics.
+ * Usage: /easyclaims admin stats
+ */
+public class AdminStatsSubcommand extends AbstractPlayerCommand {
+    private final EasyClaims plugin;
+
+    private static final Color GOLD = new Color(255, 170, 0);
+    private static final Color WHITE = new Color(255, 255, 255);
+
+    public AdminStatsSubcommand(EasyClaims plugin) {
+        super("stats", "Show claim cache and protection statistics");
+        this.plugin = plugin;
+        requirePermission("easyclaims.admin");
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext ctx,
+                          @Nonnull Store<EntityStore> store,
+                          @Nonnull Ref<EntityStore> playerRef,
+                          @Nonnull PlayerRef playerData,
+                          @Nonnull World world) {
+        PlayerClaimsCache cache = plugin.getClaimStorage().getCache();
+
+        playerData.sendMessage(Message.raw("=== EasyClaims Stats ===").color(GOLD));
+        playerData.sendMessage(Message.raw("Cached players: " + cache.size() + " / " + cache.getMaximumSize()).color(WHITE));
+        playerData.sendMessage(Message.raw(String.format("Hit ratio: %.1f%% (%d hits, %d misses)",
+                cache.getHitRatio() * 100, cache.getHitCount(), cache.getMissCount())).color(WHITE));
+        playerData.sendMessage(Message.raw("Evictions: " + cache.getEvictionCount()).color(WHITE));
+
+        ProtectionEngine engine = plugin.getProtectionEngine();
+        playerData.sendMessage(Message.raw("=== Protection Checks ===").color(GOLD));
+        for (ProtectionEngine.Action action : ProtectionEngine.Action.values()) {
+            playerData.sendMessage(Message.raw(action + ": " + engine.getCheckCount(action) + " checks, "
+                    + engine.getDenialCount(action) + " denied, "
+                    + engine.getSuppressedMessageCount(action) + " messages suppressed").color(WHITE));
+        }
+    }
+}
@@ -23,7 +23,10 @@ public class AdminSubcommand extends AbstractCommandCollection {
         addSubCommand(new AdminFakeClaimSubcommand(plugin));
         addSubCommand(new AdminClaimSubcommand(plugin));
         addSubCommand(new AdminPvpSubcommand(plugin));
+        addSubCommand(new AdminBypassSubcommand(plugin));
         addSubCommand(new AdminGrantSubcommand(plugin));
         addSubCommand(new AdminInfoSubcommand(plugin));
+        addSubCommand(new AdminExportSubcommand(plugin));
+        addSubCommand(new AdminStatsSubcommand(plugin));
     }
 }
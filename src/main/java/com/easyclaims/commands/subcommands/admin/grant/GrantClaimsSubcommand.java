@@ -37,6 +37,8 @@ public class GrantClaimsSubcommand extends CommandBase {
         super("claims", "Grant bonus claim slots to a player (additive)");
         this.plugin = plugin;
         this.playerArg = withRequiredArg("player", "Player name or UUID", ArgTypes.STRING);
+        playerArg.suggest((sender, input, numParametersTyped, result) ->
+                plugin.getClaimStorage().findPlayerNames(input, 10).forEach(result::suggest));
         this.amountArg = withRequiredArg("amount", "Number of bonus slots to add", ArgTypes.INTEGER);
         requirePermission("easyclaims.admin");
     }
@@ -86,7 +88,7 @@ public class GrantClaimsSubcommand extends CommandBase {
         int newBonus = claims.getBonusClaimSlots();
 
         // Save changes
-        plugin.getClaimStorage().savePlayerClaims(targetId);
+        plugin.getClaimStorage().saveBonusClaims(targetId);
 
         // Report result
         ctx.sendMessage(Message.raw("Granted " + amount + " bonus claim slots to " + targetName).color(GREEN));
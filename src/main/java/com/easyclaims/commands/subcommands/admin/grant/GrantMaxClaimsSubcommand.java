@@ -39,6 +39,8 @@ public class GrantMaxClaimsSubcommand extends CommandBase {
         super("maxclaims", "Increase player's max claims cap (additive) or set unlimited");
         this.plugin = plugin;
         this.playerArg = withRequiredArg("player", "Player name or UUID", ArgTypes.STRING);
+        playerArg.suggest((sender, input, numParametersTyped, result) ->
+                plugin.getClaimStorage().findPlayerNames(input, 10).forEach(result::suggest));
         this.amountArg = withRequiredArg("amount", "Number to add or 'unlimited'", ArgTypes.STRING);
         requirePermission("easyclaims.admin");
     }
@@ -82,7 +84,7 @@ public class GrantMaxClaimsSubcommand extends CommandBase {
         // Handle "unlimited" case
         if (amountInput.equalsIgnoreCase("unlimited")) {
             claims.setUnlimitedClaims(true);
-            plugin.getClaimStorage().savePlayerClaims(targetId);
+            plugin.getClaimStorage().saveBonusClaims(targetId);
 
             ctx.sendMessage(Message.raw("Set unlimited claims for " + targetName).color(GOLD));
             ctx.sendMessage(Message.raw("They can now claim without any limit!").color(YELLOW));
@@ -116,7 +118,7 @@ public class GrantMaxClaimsSubcommand extends CommandBase {
         int newBonus = claims.getBonusMaxClaims();
 
         // Save changes
-        plugin.getClaimStorage().savePlayerClaims(targetId);
+        plugin.getClaimStorage().saveBonusClaims(targetId);
 
         // Calculate effective max for display
         int serverMax = plugin.getPluginConfig().getMaxClaims();
@@ -39,6 +39,7 @@ public class SetAllowPvpToggleSubcommand extends AbstractPlayerCommand {
                           @Nonnull World world) {
         boolean value = valueArg.get(ctx);
         plugin.getPluginConfig().setPvpInPlayerClaims(value);
+        plugin.getClaimStorage().setPvpInPlayerClaims(value);
         playerData.sendMessage(Messages.pvpModeChanged(value));
     }
 }
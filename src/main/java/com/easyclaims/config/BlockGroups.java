@@ -1,5 +1,6 @@
 package com.easyclaims.config;
 
+import com.easyclaims.data.TrustLevel;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
@@ -8,11 +9,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Configurable block groups for granular permission checking.
  * Block IDs can be exact matches or partial matches (contains).
+ *
+ * The trust level each block needs is resolved once per block id and then served from
+ * a table, so protection events do not lowercase ids or scan patterns. The table is
+ * rebuilt whenever the groups change.
  */
 public class BlockGroups {
     private final Path configFile;
@@ -28,6 +35,9 @@ public class BlockGroups {
     private Set<String> containerPatterns;
     private Set<String> workstationPatterns;
 
+    // Block id -> required trust level, filled in as blocks are first used
+    private volatile Map<String, TrustLevel> requiredLevels = new ConcurrentHashMap<>();
+
     public BlockGroups(Path dataDirectory) {
         this.configFile = dataDirectory.resolve("block_groups.json");
         this.gson = new GsonBuilder().setPrettyPrinting().create();
@@ -229,6 +239,52 @@ public class BlockGroups {
         } else {
             save(); // Create default config file
         }
+        invalidate();
+    }
+
+    /**
+     * Reload block groups from block_groups.json.
+     */
+    public void reload() {
+        initDefaults();
+        load();
+    }
+
+    /**
+     * Drops all resolved trust levels so they are recomputed from the current groups.
+     * Call after the groups change.
+     */
+    public void invalidate() {
+        requiredLevels = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the trust level needed to use a block: WORKSTATION, CONTAINER or USE.
+     * After the first use of a block id this is a single table lookup.
+     */
+    public TrustLevel getRequiredLevel(BlockType blockType) {
+        if (blockType == null) return TrustLevel.USE; // Unknown blocks need USE
+        String id = blockType.getId();
+        if (id == null) return resolveLevel(blockType);
+
+        Map<String, TrustLevel> levels = requiredLevels;
+        TrustLevel level = levels.get(id);
+        if (level == null) {
+            level = resolveLevel(blockType);
+            levels.put(id, level);
+        }
+        return level;
+    }
+
+    private TrustLevel resolveLevel(BlockType blockType) {
+        // Check in order of specificity
+        if (isWorkstationBlock(blockType)) {
+            return TrustLevel.WORKSTATION;
+        }
+        if (isContainerBlock(blockType)) {
+            return TrustLevel.CONTAINER;
+        }
+        return TrustLevel.USE; // USE blocks and anything unlisted
     }
 
     public void save() {
@@ -334,6 +390,7 @@ public class BlockGroups {
      */
     public void addUseBlock(String blockId) {
         useBlocks.add(blockId);
+        invalidate();
         save();
     }
 
@@ -342,6 +399,7 @@ public class BlockGroups {
      */
     public void addUsePattern(String pattern) {
         usePatterns.add(pattern.toLowerCase());
+        invalidate();
         save();
     }
 
@@ -350,6 +408,7 @@ public class BlockGroups {
      */
     public void addContainerBlock(String blockId) {
         containerBlocks.add(blockId);
+        invalidate();
         save();
     }
 
@@ -358,6 +417,7 @@ public class BlockGroups {
      */
     public void addContainerPattern(String pattern) {
         containerPatterns.add(pattern.toLowerCase());
+        invalidate();
         save();
     }
 
@@ -366,6 +426,7 @@ public class BlockGroups {
      */
     public void addWorkstationBlock(String blockId) {
         workstationBlocks.add(blockId);
+        invalidate();
         save();
     }
 
@@ -374,6 +435,7 @@ public class BlockGroups {
      */
     public void addWorkstationPattern(String pattern) {
         workstationPatterns.add(pattern.toLowerCase());
+        invalidate();
         save();
     }
 
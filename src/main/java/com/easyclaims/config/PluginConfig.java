@@ -135,6 +135,39 @@ public class PluginConfig {
         return config.pvpInPlayerClaims;
     }
 
+    /**
+     * Maximum number of players whose claim data is kept in memory.
+     * Takes effect on restart.
+     */
+    public int getClaimCacheSize() {
+        return Math.max(1, config.claimCacheSize);
+    }
+
+    /**
+     * Check of all player claim files against the claim index, run in the background at startup.
+     * "off" = skip, "verify" = load all files and report mismatches,
+     * "repair" = also fix missing and orphaned index entries.
+     */
+    public String getStartupClaimCheck() {
+        return config.startupClaimCheck != null ? config.startupClaimCheck.toLowerCase() : "off";
+    }
+
+    /**
+     * Whether claim data files are written indented for readability.
+     * Compact by default. Takes effect on restart.
+     */
+    public boolean isPrettyDataFiles() {
+        return config.prettyDataFiles;
+    }
+
+    /**
+     * Gets where claim data is stored: "json" (files, default) or "sqlite".
+     * Existing JSON data is copied into a new, empty database. Takes effect on restart.
+     */
+    public String getStorageBackend() {
+        return config.storageBackend;
+    }
+
     // ===== SETTERS (auto-save) =====
 
     public void setClaimsPerHour(double value) {
@@ -233,5 +266,9 @@ public class PluginConfig {
         int playtimeSaveInterval = 60;
         int claimBufferSize = 2;  // Buffer zone in chunks around claims where others can't claim
         boolean pvpInPlayerClaims = true;  // true = PvP server, false = PvE server
+        int claimCacheSize = 2000;  // Players whose claim data stays loaded in memory
+        String startupClaimCheck = "off";  // off, verify or repair
+        boolean prettyDataFiles = false;  // Indent claim data files
+        String storageBackend = "json";  // json or sqlite
     }
 }
@@ -5,6 +5,7 @@ package com.easyclaims.data;
  */
 public class Claim {
     private final String world;
+    private final int worldId; // From WorldRegistry
     private final int chunkX;
     private final int chunkZ;
     private final long claimedAt;
@@ -34,6 +35,7 @@ public class Claim {
     public Claim(String world, int chunkX, int chunkZ, long claimedAt,
                  boolean pvpEnabled, boolean adminClaim, String displayName) {
         this.world = world;
+        this.worldId = WorldRegistry.getId(world);
         this.chunkX = chunkX;
         this.chunkZ = chunkZ;
         this.claimedAt = claimedAt;
@@ -53,6 +55,13 @@ public class Claim {
         return world;
     }
 
+    /**
+     * Gets the interned id of this claim's world (see {@link WorldRegistry}).
+     */
+    public int getWorldId() {
+        return worldId;
+    }
+
     public int getChunkX() {
         return chunkX;
     }
@@ -93,12 +102,12 @@ public class Claim {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         Claim claim = (Claim) obj;
-        return chunkX == claim.chunkX && chunkZ == claim.chunkZ && world.equals(claim.world);
+        return chunkX == claim.chunkX && chunkZ == claim.chunkZ && worldId == claim.worldId;
     }
 
     @Override
     public int hashCode() {
-        int result = world.hashCode();
+        int result = worldId;
         result = 31 * result + chunkX;
         result = 31 * result + chunkZ;
         return result;
@@ -0,0 +1,153 @@
+package com.easyclaims.data;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Persistence SPI used by {@link ClaimStorage}.
+ *
+ * ClaimStorage owns the in-memory state (chunk index, player cache, dirty tracking);
+ * a backend only moves that state to and from durable storage. Changes reach the
+ * backend in two ways:
+ * - every mutation is {@link #append appended} and made durable in batches by {@link #flush}
+ * - a checkpoint periodically writes full copies of changed owners and index regions,
+ *   after which the backend may drop the mutations it has covered
+ */
+public interface ClaimBackend {
+
+    /**
+     * A region of the chunk index to persist (see {@link WorldClaimIndex#REGION_SHIFT}).
+     */
+    final class IndexRegion {
+        public final String world;
+        public final long regionKey;
+        public final Long2ObjectMap<UUID> chunks; // empty if the region no longer has claims
+
+        public IndexRegion(String world, long regionKey, Long2ObjectMap<UUID> chunks) {
+            this.world = world;
+            this.regionKey = regionKey;
+            this.chunks = chunks;
+        }
+    }
+
+    /**
+     * Short name for logs ("json", "sqlite").
+     */
+    String getName();
+
+    /**
+     * Whether the backend holds no claim data at all (used to decide on migration).
+     */
+    boolean isEmpty() throws IOException;
+
+    // ===== LOADING =====
+
+    /**
+     * Scans the stored chunk index, calling the sink with one or more batches per world.
+     * @return true if the index came from a legacy format and should be written out in full
+     */
+    boolean scanIndex(BiConsumer<String, Long2ObjectMap<UUID>> sink) throws IOException;
+
+    /**
+     * Called once the full index has been written after an import reported by {@link #scanIndex}.
+     */
+    void finishIndexImport();
+
+    /**
+     * Loads one owner's claims, trusted players and bonuses.
+     * @return the stored data, or null if the owner has none
+     */
+    PlayerClaims loadOwner(UUID owner) throws IOException;
+
+    /**
+     * Whether {@link #loadOwner} may usefully be called from several threads at once.
+     */
+    default boolean supportsConcurrentLoads() {
+        return true;
+    }
+
+    /**
+     * Lists every owner with stored data.
+     */
+    List<UUID> listOwners() throws IOException;
+
+    Map<UUID, String> loadNames() throws IOException;
+
+    void saveNames(Map<UUID, String> names) throws IOException;
+
+    // ===== MUTATIONS =====
+
+    /**
+     * Queues a mutation. It becomes durable on the next {@link #flush}.
+     */
+    void append(ClaimMutation mutation);
+
+    /**
+     * Makes all queued mutations durable in one batch (group commit).
+     * @return true if every queued mutation is now durable
+     */
+    boolean flush();
+
+    /**
+     * Replays durable mutations that no checkpoint has covered yet, oldest first.
+     * @return the number of mutations replayed
+     */
+    int replay(Consumer<ClaimMutation> consumer);
+
+    // ===== CHECKPOINTS =====
+
+    /**
+     * Whether enough has changed that the periodic flush should take a checkpoint.
+     */
+    boolean needsCheckpoint();
+
+    /**
+     * Starts a checkpoint. Mutations appended before this call are covered by it.
+     */
+    void beginCheckpoint();
+
+    /**
+     * Whether full {@link #writeOwner} calls for journaled changes wait for the next
+     * checkpoint instead of the periodic flush. The journal covers them meanwhile.
+     */
+    default boolean defersOwnerWrites() {
+        return false;
+    }
+
+    /**
+     * Whether a dirty owner needs a full {@link #writeOwner} for their appended mutations
+     * to be covered. Backends that apply flushed mutations to the stored owner data in
+     * place only need it when one of the owner's mutations could not be applied.
+     */
+    default boolean needsOwnerWrite(UUID owner) {
+        return true;
+    }
+
+    /**
+     * Writes a full copy of one owner's data.
+     */
+    boolean writeOwner(UUID owner, PlayerClaims claims);
+
+    /**
+     * Writes changed regions of the chunk index.
+     * @return true if every region was written
+     */
+    boolean writeIndexRegions(List<IndexRegion> regions);
+
+    /**
+     * Ends a checkpoint.
+     * @param complete whether every write of the checkpoint succeeded
+     */
+    void finishCheckpoint(boolean complete);
+
+    /**
+     * Flushes pending mutations and releases files/connections.
+     */
+    void close();
+}
@@ -0,0 +1,171 @@
+package com.easyclaims.data;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary snapshot format for the claim index. Each region shard under
+ * claims/index/ is one of these files (the legacy single-file index.bin used the
+ * same format for every world at once).
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   int    magic "ECIX", int version
+ *   int    worldCount,  then per world: short length + UTF-8 name
+ *   int    ownerCount,  then per owner: long msb + long lsb
+ *   per world, in table order:
+ *     int  recordCount, then per record (sorted by chunk): long packedChunk + int ownerId
+ * </pre>
+ * Files are read through a memory-mapped channel, so loading is a sequential scan
+ * with no string parsing and one UUID object per owner rather than per chunk.
+ */
+public final class ClaimIndexSnapshot {
+    private static final int MAGIC = 0x45434958; // "ECIX"
+    private static final int VERSION = 1;
+
+    private ClaimIndexSnapshot() {}
+
+    /**
+     * Reads a snapshot into per-world chunk -> owner maps.
+     * @throws IOException if the file cannot be read or is truncated or corrupt
+     */
+    public static Map<String, Long2ObjectOpenHashMap<UUID>> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer, file);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt claim index snapshot " + file + ": " + e, e);
+        }
+    }
+
+    private static Map<String, Long2ObjectOpenHashMap<UUID>> read(ByteBuffer buffer, Path file) throws IOException {
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a claim index snapshot: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported claim index version " + version + ": " + file);
+        }
+
+        String[] worlds = new String[checkCount(buffer, buffer.getInt(), 2, file)];
+        for (int i = 0; i < worlds.length; i++) {
+            byte[] name = new byte[checkCount(buffer, buffer.getShort() & 0xFFFF, 1, file)];
+            buffer.get(name);
+            worlds[i] = new String(name, StandardCharsets.UTF_8);
+        }
+
+        UUID[] owners = new UUID[checkCount(buffer, buffer.getInt(), 16, file)];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = new UUID(buffer.getLong(), buffer.getLong());
+        }
+
+        Map<String, Long2ObjectOpenHashMap<UUID>> result = new LinkedHashMap<>();
+        for (String world : worlds) {
+            int count = checkCount(buffer, buffer.getInt(), 12, file);
+            Long2ObjectOpenHashMap<UUID> chunks = new Long2ObjectOpenHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                long chunk = buffer.getLong();
+                int ownerId = buffer.getInt();
+                if (ownerId < 0 || ownerId >= owners.length) {
+                    throw new IOException("Owner id " + ownerId + " out of range in " + file);
+                }
+                chunks.put(chunk, owners[ownerId]);
+            }
+            result.put(world, chunks);
+        }
+        return result;
+    }
+
+    /**
+     * Checks that a count read from the file fits in what is left of it, so a corrupt
+     * count fails here instead of allocating a huge array.
+     */
+    private static int checkCount(ByteBuffer buffer, int count, int bytesEach, Path file) throws IOException {
+        if (count < 0 || (long) count * bytesEach > buffer.remaining()) {
+            throw new IOException("Truncated claim index snapshot (count " + count + "): " + file);
+        }
+        return count;
+    }
+
+    /**
+     * Writes a snapshot of the given per-world chunk -> owner maps. The file is written
+     * to a temporary name and moved into place, so readers never see a partial snapshot.
+     */
+    public static void write(Path file, Map<String, ? extends Long2ObjectMap<UUID>> index) throws IOException {
+        List<String> worlds = new ArrayList<>();
+        List<byte[]> worldNames = new ArrayList<>();
+        List<Long2ObjectMap<UUID>> worldChunks = new ArrayList<>();
+        Object2IntOpenHashMap<UUID> ownerIds = new Object2IntOpenHashMap<>();
+        ownerIds.defaultReturnValue(-1);
+        List<UUID> owners = new ArrayList<>();
+
+        long size = 12; // magic, version, worldCount
+        for (Map.Entry<String, ? extends Long2ObjectMap<UUID>> entry : index.entrySet()) {
+            byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            Long2ObjectMap<UUID> chunks = entry.getValue();
+            worlds.add(entry.getKey());
+            worldNames.add(name);
+            worldChunks.add(chunks);
+            for (UUID owner : chunks.values()) {
+                if (ownerIds.getInt(owner) < 0) {
+                    ownerIds.put(owner, owners.size());
+                    owners.add(owner);
+                }
+            }
+            size += 2 + name.length + 4 + 12L * chunks.size();
+        }
+        size += 4 + 16L * owners.size();
+
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size));
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(worlds.size());
+        for (byte[] name : worldNames) {
+            buffer.putShort((short) name.length);
+            buffer.put(name);
+        }
+        buffer.putInt(owners.size());
+        for (UUID owner : owners) {
+            buffer.putLong(owner.getMostSignificantBits());
+            buffer.putLong(owner.getLeastSignificantBits());
+        }
+        for (Long2ObjectMap<UUID> chunks : worldChunks) {
+            long[] keys = chunks.keySet().toLongArray();
+            Arrays.sort(keys);
+            buffer.putInt(keys.length);
+            for (long chunk : keys) {
+                buffer.putLong(chunk);
+                buffer.putInt(ownerIds.getInt(chunks.get(chunk)));
+            }
+        }
+        buffer.flip();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
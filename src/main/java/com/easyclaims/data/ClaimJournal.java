@@ -0,0 +1,262 @@
+package com.easyclaims.data;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Append-only journal of claim mutations (one compact JSON object per line).
+ *
+ * Mutations are queued by the game threads and written in batches by the storage
+ * thread: one write and one fsync per batch (group commit). The journal is rotated
+ * when a full snapshot is taken, and replayed on top of the snapshot at startup.
+ */
+public class ClaimJournal {
+    private final Path journalFile;
+    private final Path rotatedFile;
+    private final Queue<ClaimMutation> pending = new ConcurrentLinkedQueue<>();
+    private FileChannel channel;
+    private ByteBuffer unflushed; // Encoded batch (or the rest of one) whose write failed, retried first
+
+    public ClaimJournal(Path claimsDirectory) {
+        this.journalFile = claimsDirectory.resolve("journal.log");
+        this.rotatedFile = claimsDirectory.resolve("journal.log.old");
+    }
+
+    /**
+     * Queues a mutation for the next group commit.
+     */
+    public void append(ClaimMutation mutation) {
+        pending.add(mutation);
+    }
+
+    /**
+     * Writes all queued mutations in a single batch and forces them to disk. A batch that
+     * fails is kept and written ahead of newer mutations on the next flush.
+     * @return true if every queued mutation is now durable
+     */
+    public synchronized boolean flush() {
+        StringBuilder batch = new StringBuilder();
+        ClaimMutation mutation;
+        while ((mutation = pending.poll()) != null) {
+            batch.append(encode(mutation)).append('\n');
+        }
+        if (batch.length() > 0) {
+            byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+            if (unflushed == null) {
+                unflushed = ByteBuffer.wrap(bytes);
+            } else {
+                unflushed = ByteBuffer.allocate(unflushed.remaining() + bytes.length).put(unflushed).put(bytes).flip();
+            }
+        }
+        if (unflushed == null) {
+            return true;
+        }
+
+        try {
+            FileChannel out = openChannel();
+            while (unflushed.hasRemaining()) {
+                out.write(unflushed); // Appends, so a retry continues right after a partial write
+            }
+            out.force(false);
+            unflushed = null;
+            return true;
+        } catch (IOException e) {
+            System.out.println("[EasyClaims] Failed to write " + unflushed.remaining()
+                    + " bytes of claim changes to the journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Gets the current size of the active journal file in bytes.
+     */
+    public synchronized long size() {
+        try {
+            return channel != null ? channel.size() : (Files.exists(journalFile) ? Files.size(journalFile) : 0);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Flushes pending mutations and moves the active journal aside so a snapshot can be
+     * taken. Mutations made after this call go to a fresh journal file.
+     */
+    public synchronized void rotate() {
+        flush();
+        try {
+            closeChannel();
+            if (!Files.exists(journalFile)) {
+                return;
+            }
+            if (Files.exists(rotatedFile)) {
+                // A previous snapshot never completed - keep its entries ahead of ours
+                Files.write(rotatedFile, Files.readAllBytes(journalFile), StandardOpenOption.APPEND);
+                Files.delete(journalFile);
+            } else {
+                Files.move(journalFile, rotatedFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Deletes the rotated journal once the snapshot covering it has been written.
+     */
+    public synchronized void discardRotated() {
+        try {
+            Files.deleteIfExists(rotatedFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Replays the rotated journal (left behind if we crashed mid-snapshot) and then
+     * the active journal, oldest first.
+     * @return the number of mutations replayed
+     */
+    public int replay(Consumer<ClaimMutation> consumer) {
+        return replayFile(rotatedFile, consumer) + replayFile(journalFile, consumer);
+    }
+
+    private int replayFile(Path file, Consumer<ClaimMutation> consumer) {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                ClaimMutation mutation = decode(line);
+                if (mutation == null) continue; // Torn write at the tail - ignore
+                consumer.accept(mutation);
+                count++;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return count;
+    }
+
+    public synchronized void close() {
+        flush();
+        try {
+            closeChannel();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            channel = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // ===== ENCODING =====
+
+    private static String encode(ClaimMutation m) {
+        JsonObject obj = new JsonObject();
+        obj.addProperty("op", m.type.name());
+        obj.addProperty("owner", m.owner.toString());
+        switch (m.type) {
+            case CLAIM -> {
+                obj.addProperty("world", m.world);
+                obj.addProperty("x", m.chunkX);
+                obj.addProperty("z", m.chunkZ);
+                obj.addProperty("at", m.claimedAt);
+                obj.addProperty("pvp", m.pvpEnabled);
+                obj.addProperty("admin", m.adminClaim);
+                if (m.displayName != null) obj.addProperty("name", m.displayName);
+            }
+            case UNCLAIM -> {
+                obj.addProperty("world", m.world);
+                obj.addProperty("x", m.chunkX);
+                obj.addProperty("z", m.chunkZ);
+            }
+            case PVP -> {
+                obj.addProperty("world", m.world);
+                obj.addProperty("x", m.chunkX);
+                obj.addProperty("z", m.chunkZ);
+                obj.addProperty("pvp", m.pvpEnabled);
+            }
+            case TRUST -> {
+                obj.addProperty("player", m.player.toString());
+                obj.addProperty("playerName", m.playerName);
+                obj.addProperty("level", m.level.getKey());
+            }
+            case UNTRUST -> obj.addProperty("player", m.player.toString());
+            case BONUS -> {
+                obj.addProperty("slots", m.bonusClaimSlots);
+                obj.addProperty("max", m.bonusMaxClaims);
+                obj.addProperty("unlimited", m.unlimitedClaims);
+            }
+            case UNCLAIM_ALL -> { }
+        }
+        return obj.toString();
+    }
+
+    private static ClaimMutation decode(String line) {
+        try {
+            JsonElement element = JsonParser.parseString(line);
+            if (!element.isJsonObject()) return null;
+            JsonObject obj = element.getAsJsonObject();
+
+            ClaimMutation.Type type = ClaimMutation.Type.valueOf(obj.get("op").getAsString());
+            UUID owner = UUID.fromString(obj.get("owner").getAsString());
+            return switch (type) {
+                case CLAIM -> ClaimMutation.claim(owner, new Claim(
+                        obj.get("world").getAsString(), obj.get("x").getAsInt(), obj.get("z").getAsInt(),
+                        obj.get("at").getAsLong(), obj.get("pvp").getAsBoolean(), obj.get("admin").getAsBoolean(),
+                        obj.has("name") ? obj.get("name").getAsString() : null));
+                case UNCLAIM -> ClaimMutation.unclaim(owner, obj.get("world").getAsString(),
+                        obj.get("x").getAsInt(), obj.get("z").getAsInt());
+                case UNCLAIM_ALL -> ClaimMutation.unclaimAll(owner);
+                case PVP -> ClaimMutation.pvp(owner, obj.get("world").getAsString(),
+                        obj.get("x").getAsInt(), obj.get("z").getAsInt(), obj.get("pvp").getAsBoolean());
+                case TRUST -> {
+                    TrustLevel level = TrustLevel.fromString(obj.get("level").getAsString());
+                    UUID player = UUID.fromString(obj.get("player").getAsString());
+                    String playerName = obj.has("playerName") && !obj.get("playerName").isJsonNull()
+                            ? obj.get("playerName").getAsString() : player.toString();
+                    yield ClaimMutation.trust(owner, player, playerName, level != null ? level : TrustLevel.BUILD);
+                }
+                case UNTRUST -> ClaimMutation.untrust(owner, UUID.fromString(obj.get("player").getAsString()));
+                case BONUS -> ClaimMutation.bonus(owner, obj.get("slots").getAsInt(),
+                        obj.get("max").getAsInt(), obj.get("unlimited").getAsBoolean());
+            };
+        } catch (JsonParseException | IllegalArgumentException | IllegalStateException
+                 | NullPointerException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
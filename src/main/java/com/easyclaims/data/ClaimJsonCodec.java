@@ -0,0 +1,414 @@
+package com.easyclaims.data;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import com.easyclaims.util.ChunkUtil;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streaming JSON codecs for the plugin's data files (player claims, the exported
+ * index, names and playtime).
+ *
+ * Values are read and written field by field with {@link JsonReader}/{@link JsonWriter},
+ * so saving a file does not build intermediate objects or a full String first.
+ * Output is compact unless pretty printing is requested. Files are written to a
+ * temporary name and moved into place. Malformed input is reported as a
+ * {@link JsonSyntaxException}, the same as reflective Gson parsing did.
+ */
+public final class ClaimJsonCodec {
+
+    private ClaimJsonCodec() {}
+
+    /**
+     * Receives one chunk -> owner entry of an index.json file.
+     */
+    public interface IndexEntryConsumer {
+        void accept(String world, String chunkKey, String owner);
+    }
+
+    // ===== PLAYER CLAIMS =====
+
+    /**
+     * Reads a player claims file. All historical trust formats are understood:
+     * trustedPlayersData (UUID -> {name, level}), trustedPlayersWithNames (UUID -> name)
+     * and trustedPlayers (list of UUIDs), in that order of preference.
+     */
+    public static PlayerClaims readPlayerClaims(Path file, UUID playerId) throws IOException {
+        PlayerClaims claims = new PlayerClaims(playerId);
+        List<TrustedPlayer> trustedData = null;
+        List<TrustedPlayer> trustedWithNames = null;
+        List<TrustedPlayer> trustedLegacy = null;
+
+        try (JsonReader reader = openReader(file)) {
+            if (reader.peek() == JsonToken.NULL) {
+                return claims;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+                switch (name) {
+                    case "claims" -> {
+                        List<Claim> loaded = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            Claim claim = readClaim(reader);
+                            if (claim != null) {
+                                loaded.add(claim);
+                            }
+                        }
+                        reader.endArray();
+                        claims.addClaims(loaded);
+                    }
+                    case "trustedPlayersData" -> trustedData = readTrustedPlayersData(reader);
+                    case "trustedPlayersWithNames" -> trustedWithNames = readTrustedPlayersWithNames(reader);
+                    case "trustedPlayers" -> trustedLegacy = readTrustedPlayersList(reader);
+                    case "bonusClaimSlots" -> claims.setBonusClaimSlots(reader.nextInt());
+                    case "bonusMaxClaims" -> claims.setBonusMaxClaims(reader.nextInt());
+                    case "unlimitedClaims" -> claims.setUnlimitedClaims(reader.nextBoolean());
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(file + ": " + e.getMessage(), e);
+        }
+
+        List<TrustedPlayer> trusted = trustedData != null ? trustedData
+                : trustedWithNames != null ? trustedWithNames
+                : trustedLegacy;
+        if (trusted != null) {
+            for (TrustedPlayer tp : trusted) {
+                claims.addTrustedPlayer(tp.getUuid(), tp.getName(), tp.getLevel());
+            }
+        }
+        return claims;
+    }
+
+    private static Claim readClaim(JsonReader reader) throws IOException {
+        String world = null;
+        int chunkX = 0;
+        int chunkZ = 0;
+        long claimedAt = 0;
+        // Migration: missing values use defaults (pvpEnabled=true, adminClaim=false)
+        boolean pvpEnabled = true;
+        boolean adminClaim = false;
+        String displayName = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "world" -> world = reader.nextString();
+                case "chunkX" -> chunkX = reader.nextInt();
+                case "chunkZ" -> chunkZ = reader.nextInt();
+                case "claimedAt" -> claimedAt = reader.nextLong();
+                case "pvpEnabled" -> pvpEnabled = reader.nextBoolean();
+                case "adminClaim" -> adminClaim = reader.nextBoolean();
+                case "displayName" -> displayName = reader.nextString();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (world == null) {
+            return null;
+        }
+        return new Claim(world, chunkX, chunkZ, claimedAt, pvpEnabled, adminClaim, displayName);
+    }
+
+    private static List<TrustedPlayer> readTrustedPlayersData(JsonReader reader) throws IOException {
+        List<TrustedPlayer> result = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            UUID trustedId = parseUuid(reader.nextName());
+            String playerName = null;
+            TrustLevel level = null;
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String field = reader.nextName();
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.skipValue();
+                    } else if (field.equals("name")) {
+                        playerName = reader.nextString();
+                    } else if (field.equals("level")) {
+                        level = TrustLevel.fromString(reader.nextString());
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            }
+            if (trustedId != null) {
+                result.add(new TrustedPlayer(trustedId,
+                        playerName != null ? playerName : trustedId.toString(),
+                        level != null ? level : TrustLevel.BUILD)); // Default to BUILD
+            }
+        }
+        reader.endObject();
+        return result;
+    }
+
+    private static List<TrustedPlayer> readTrustedPlayersWithNames(JsonReader reader) throws IOException {
+        List<TrustedPlayer> result = new ArrayList<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            UUID trustedId = parseUuid(reader.nextName());
+            String playerName = null;
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+            } else {
+                playerName = reader.nextString();
+            }
+            if (trustedId != null) {
+                result.add(new TrustedPlayer(trustedId,
+                        playerName != null ? playerName : trustedId.toString(), TrustLevel.BUILD));
+            }
+        }
+        reader.endObject();
+        return result;
+    }
+
+    private static List<TrustedPlayer> readTrustedPlayersList(JsonReader reader) throws IOException {
+        List<TrustedPlayer> result = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            String trusted = reader.nextString();
+            UUID trustedId = parseUuid(trusted);
+            if (trustedId != null) {
+                result.add(new TrustedPlayer(trustedId, trusted, TrustLevel.BUILD));
+            }
+        }
+        reader.endArray();
+        return result;
+    }
+
+    /**
+     * Writes a player claims file in the current format (trustedPlayersData).
+     */
+    public static void writePlayerClaims(Path file, PlayerClaims claims, boolean pretty) throws IOException {
+        Path temp = tempFile(file);
+        try (JsonWriter writer = openWriter(temp, pretty)) {
+            writer.beginObject();
+
+            writer.name("claims").beginArray();
+            for (Claim claim : claims.getClaims()) {
+                writer.beginObject();
+                writer.name("world").value(claim.getWorld());
+                writer.name("chunkX").value(claim.getChunkX());
+                writer.name("chunkZ").value(claim.getChunkZ());
+                writer.name("claimedAt").value(claim.getClaimedAt());
+                writer.name("pvpEnabled").value(claim.isPvpEnabled());
+                writer.name("adminClaim").value(claim.isAdminClaim());
+                if (claim.getDisplayName() != null) {
+                    writer.name("displayName").value(claim.getDisplayName());
+                }
+                writer.endObject();
+            }
+            writer.endArray();
+
+            // Trusted players with their names and trust levels
+            writer.name("trustedPlayersData").beginObject();
+            for (Map.Entry<UUID, TrustedPlayer> entry : claims.getTrustedPlayersMap().entrySet()) {
+                TrustedPlayer tp = entry.getValue();
+                writer.name(entry.getKey().toString()).beginObject();
+                writer.name("name").value(tp.getName());
+                writer.name("level").value(tp.getLevel().getKey());
+                writer.endObject();
+            }
+            writer.endObject();
+
+            // Admin-granted bonus fields
+            writer.name("bonusClaimSlots").value(claims.getBonusClaimSlots());
+            writer.name("bonusMaxClaims").value(claims.getBonusMaxClaims());
+            writer.name("unlimitedClaims").value(claims.hasUnlimitedClaims());
+
+            writer.endObject();
+        }
+        commit(temp, file);
+    }
+
+    // ===== INDEX =====
+
+    /**
+     * Streams the entries of an index.json file (world -> "x,z" -> owner UUID).
+     */
+    public static void readIndex(Path file, IndexEntryConsumer consumer) throws IOException {
+        try (JsonReader reader = openReader(file)) {
+            if (reader.peek() == JsonToken.NULL) {
+                return;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String world = reader.nextName();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String chunkKey = reader.nextName();
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.skipValue();
+                        continue;
+                    }
+                    consumer.accept(world, chunkKey, reader.nextString());
+                }
+                reader.endObject();
+            }
+            reader.endObject();
+        } catch (MalformedJsonException | IllegalStateException e) {
+            throw new JsonSyntaxException(file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes an index.json file (world -> "x,z" -> owner UUID) from per-world
+     * packed chunk -> owner maps.
+     */
+    public static void writeIndex(Path file, Map<String, ? extends Long2ObjectMap<UUID>> index, boolean pretty) throws IOException {
+        Path temp = tempFile(file);
+        try (JsonWriter writer = openWriter(temp, pretty)) {
+            writer.beginObject();
+            for (Map.Entry<String, ? extends Long2ObjectMap<UUID>> worldEntry : index.entrySet()) {
+                writer.name(worldEntry.getKey()).beginObject();
+                for (Long2ObjectMap.Entry<UUID> claimEntry : worldEntry.getValue().long2ObjectEntrySet()) {
+                    long chunk = claimEntry.getLongKey();
+                    writer.name(ChunkUtil.chunkKey(ChunkUtil.chunkIndexX(chunk), ChunkUtil.chunkIndexZ(chunk)))
+                            .value(claimEntry.getValue().toString());
+                }
+                writer.endObject();
+            }
+            writer.endObject();
+        }
+        commit(temp, file);
+    }
+
+    // ===== NAMES =====
+
+    /**
+     * Reads names.json (UUID -> username). Entries with invalid UUIDs are skipped.
+     */
+    public static Map<UUID, String> readNames(Path file) throws IOException {
+        Map<UUID, String> names = new HashMap<>();
+        try (JsonReader reader = openReader(file)) {
+            if (reader.peek() == JsonToken.NULL) {
+                return names;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                UUID playerId = parseUuid(reader.nextName());
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+                String username = reader.nextString();
+                if (playerId != null) {
+                    names.put(playerId, username);
+                }
+            }
+            reader.endObject();
+        } catch (MalformedJsonException | IllegalStateException e) {
+            throw new JsonSyntaxException(file + ": " + e.getMessage(), e);
+        }
+        return names;
+    }
+
+    public static void writeNames(Path file, Map<UUID, String> names, boolean pretty) throws IOException {
+        Path temp = tempFile(file);
+        try (JsonWriter writer = openWriter(temp, pretty)) {
+            writer.beginObject();
+            for (Map.Entry<UUID, String> entry : names.entrySet()) {
+                writer.name(entry.getKey().toString()).value(entry.getValue());
+            }
+            writer.endObject();
+        }
+        commit(temp, file);
+    }
+
+    // ===== PLAYTIME =====
+
+    /**
+     * Reads a playtime file from older versions ({"totalPlaytimeSeconds": n}).
+     */
+    public static long readPlaytime(Path file) throws IOException {
+        long totalPlaytimeSeconds = 0;
+        try (JsonReader reader = openReader(file)) {
+            if (reader.peek() == JsonToken.NULL) {
+                return 0;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("totalPlaytimeSeconds") && reader.peek() != JsonToken.NULL) {
+                    totalPlaytimeSeconds = reader.nextLong();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(file + ": " + e.getMessage(), e);
+        }
+        return totalPlaytimeSeconds;
+    }
+
+    // ===== HELPERS =====
+
+    private static JsonReader openReader(Path file) throws IOException {
+        BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        JsonReader reader = new JsonReader(in);
+        reader.setLenient(true); // Files may be edited by hand
+        return reader;
+    }
+
+    private static JsonWriter openWriter(Path file, boolean pretty) throws IOException {
+        BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        JsonWriter writer = new JsonWriter(out);
+        if (pretty) {
+            writer.setIndent("  ");
+        }
+        return writer;
+    }
+
+    private static Path tempFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    private static void commit(Path temp, Path file) throws IOException {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
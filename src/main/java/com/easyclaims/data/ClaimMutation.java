@@ -0,0 +1,131 @@
+package com.easyclaims.data;
+
+import java.util.UUID;
+
+/**
+ * A single change to claim data, as recorded in the claim journal.
+ * Every mutation is idempotent (it sets state rather than adjusting it), so
+ * replaying a journal on top of a newer snapshot converges to the same result.
+ */
+public final class ClaimMutation {
+
+    public enum Type {
+        CLAIM,
+        UNCLAIM,
+        UNCLAIM_ALL,
+        TRUST,
+        UNTRUST,
+        BONUS,
+        PVP
+    }
+
+    public final Type type;
+    public final UUID owner;
+
+    // Chunk fields (CLAIM, UNCLAIM, PVP)
+    public final String world;
+    public final int chunkX;
+    public final int chunkZ;
+    public final long claimedAt;
+    public final boolean pvpEnabled;
+    public final boolean adminClaim;
+    public final String displayName;
+
+    // Trust fields (TRUST, UNTRUST)
+    public final UUID player;
+    public final String playerName;
+    public final TrustLevel level;
+
+    // Bonus fields (BONUS)
+    public final int bonusClaimSlots;
+    public final int bonusMaxClaims;
+    public final boolean unlimitedClaims;
+
+    private ClaimMutation(Type type, UUID owner, String world, int chunkX, int chunkZ, long claimedAt,
+                          boolean pvpEnabled, boolean adminClaim, String displayName,
+                          UUID player, String playerName, TrustLevel level,
+                          int bonusClaimSlots, int bonusMaxClaims, boolean unlimitedClaims) {
+        this.type = type;
+        this.owner = owner;
+        this.world = world;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.claimedAt = claimedAt;
+        this.pvpEnabled = pvpEnabled;
+        this.adminClaim = adminClaim;
+        this.displayName = displayName;
+        this.player = player;
+        this.playerName = playerName;
+        this.level = level;
+        this.bonusClaimSlots = bonusClaimSlots;
+        this.bonusMaxClaims = bonusMaxClaims;
+        this.unlimitedClaims = unlimitedClaims;
+    }
+
+    public static ClaimMutation claim(UUID owner, Claim claim) {
+        return new ClaimMutation(Type.CLAIM, owner, claim.getWorld(), claim.getChunkX(), claim.getChunkZ(),
+                claim.getClaimedAt(), claim.isPvpEnabled(), claim.isAdminClaim(), claim.getDisplayName(),
+                null, null, null, 0, 0, false);
+    }
+
+    public static ClaimMutation unclaim(UUID owner, String world, int chunkX, int chunkZ) {
+        return new ClaimMutation(Type.UNCLAIM, owner, world, chunkX, chunkZ, 0, false, false, null,
+                null, null, null, 0, 0, false);
+    }
+
+    public static ClaimMutation unclaimAll(UUID owner) {
+        return new ClaimMutation(Type.UNCLAIM_ALL, owner, null, 0, 0, 0, false, false, null,
+                null, null, null, 0, 0, false);
+    }
+
+    public static ClaimMutation trust(UUID owner, UUID player, String playerName, TrustLevel level) {
+        return new ClaimMutation(Type.TRUST, owner, null, 0, 0, 0, false, false, null,
+                player, playerName, level, 0, 0, false);
+    }
+
+    public static ClaimMutation untrust(UUID owner, UUID player) {
+        return new ClaimMutation(Type.UNTRUST, owner, null, 0, 0, 0, false, false, null,
+                player, null, null, 0, 0, false);
+    }
+
+    public static ClaimMutation bonus(UUID owner, int bonusClaimSlots, int bonusMaxClaims, boolean unlimitedClaims) {
+        return new ClaimMutation(Type.BONUS, owner, null, 0, 0, 0, false, false, null,
+                null, null, null, bonusClaimSlots, bonusMaxClaims, unlimitedClaims);
+    }
+
+    public static ClaimMutation pvp(UUID owner, String world, int chunkX, int chunkZ, boolean pvpEnabled) {
+        return new ClaimMutation(Type.PVP, owner, world, chunkX, chunkZ, 0, pvpEnabled, false, null,
+                null, null, null, 0, 0, false);
+    }
+
+    /**
+     * Applies this mutation to the owner's data only, without touching any chunk index.
+     */
+    public void applyTo(PlayerClaims claims) {
+        switch (type) {
+            case CLAIM -> claims.addClaim(toClaim());
+            case UNCLAIM -> claims.removeClaim(world, chunkX, chunkZ);
+            case UNCLAIM_ALL -> claims.clearAllClaims();
+            case TRUST -> claims.addTrustedPlayer(player, playerName, level);
+            case UNTRUST -> claims.removeTrustedPlayer(player);
+            case BONUS -> {
+                claims.setBonusClaimSlots(bonusClaimSlots);
+                claims.setBonusMaxClaims(bonusMaxClaims);
+                claims.setUnlimitedClaims(unlimitedClaims);
+            }
+            case PVP -> {
+                Claim claim = claims.getClaim(world, chunkX, chunkZ);
+                if (claim != null) {
+                    claim.setPvpEnabled(pvpEnabled);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the Claim carried by a CLAIM mutation.
+     */
+    public Claim toClaim() {
+        return new Claim(world, chunkX, chunkZ, claimedAt, pvpEnabled, adminClaim, displayName);
+    }
+}
@@ -0,0 +1,86 @@
+package com.easyclaims.data;
+
+import com.easyclaims.util.ChunkUtil;
+
+/**
+ * Two-level bitmap of which chunks in a world may be claimed, used to answer "is this
+ * wilderness?" without probing the index maps.
+ *
+ * The first level has one bit per 32x32-chunk region, the second one bit per chunk; both
+ * are hashed into arrays sized from the number of claims when the bitmap is built, about
+ * eight bits per claim. A clear bit means definitely unclaimed. A set bit means possibly
+ * claimed (hash collisions and unclaimed chunks whose bit was not cleared yet), so
+ * callers still look the chunk up in that case.
+ *
+ * Bits are only ever set in place. {@link WorldClaimIndex} sets them under its write lock
+ * before publishing the snapshot that contains the claim, and replaces the whole bitmap
+ * with a rebuilt one once enough chunks have been unclaimed or the claims no longer
+ * {@link #fits fit}, so the share of set bits stays low as a world grows.
+ */
+public final class ClaimOccupancy {
+    private static final int MIN_BITS = 12;     // 4096 bits, 512 bytes
+    private static final int MAX_BITS = 28;     // 2^28 bits, 32 MB
+    private static final int BITS_PER_CLAIM = 3; // log2 of 8 bits per claim
+
+    private final int regionBits;
+    private final int chunkBits;
+    private final long[] regionWords;
+    private final long[] chunkWords;
+
+    /**
+     * Creates an empty bitmap of the minimum size.
+     */
+    public ClaimOccupancy() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty bitmap sized for a number of claimed chunks.
+     */
+    public ClaimOccupancy(int expectedChunks) {
+        int bits = 64 - Long.numberOfLeadingZeros(Math.max(expectedChunks, 1) - 1L) + BITS_PER_CLAIM;
+        this.chunkBits = Math.max(MIN_BITS, Math.min(MAX_BITS, bits));
+        this.regionBits = Math.max(MIN_BITS, chunkBits - 1); // Never more regions than chunks
+        this.regionWords = new long[1 << (regionBits - 6)];
+        this.chunkWords = new long[1 << (chunkBits - 6)];
+    }
+
+    /**
+     * Checks if this bitmap is still big enough for a number of claimed chunks: at most
+     * a quarter of its chunk bits would be set.
+     */
+    public boolean fits(int chunks) {
+        return chunkBits == MAX_BITS || chunks <= 1 << (chunkBits - 2);
+    }
+
+    /**
+     * Checks if a chunk may be claimed.
+     * @return false only if the chunk is definitely unclaimed
+     */
+    public boolean mightBeClaimed(int chunkX, int chunkZ) {
+        int region = hash(WorldClaimIndex.regionKey(chunkX, chunkZ), regionBits);
+        if ((regionWords[region >>> 6] & (1L << region)) == 0) {
+            return false;
+        }
+        int chunk = hash(ChunkUtil.chunkIndex(chunkX, chunkZ), chunkBits);
+        return (chunkWords[chunk >>> 6] & (1L << chunk)) != 0;
+    }
+
+    /**
+     * Marks a chunk as claimed.
+     */
+    void add(int chunkX, int chunkZ) {
+        int region = hash(WorldClaimIndex.regionKey(chunkX, chunkZ), regionBits);
+        regionWords[region >>> 6] |= 1L << region;
+        int chunk = hash(ChunkUtil.chunkIndex(chunkX, chunkZ), chunkBits);
+        chunkWords[chunk >>> 6] |= 1L << chunk;
+    }
+
+    void add(long chunkIndex) {
+        add(ChunkUtil.chunkIndexX(chunkIndex), ChunkUtil.chunkIndexZ(chunkIndex));
+    }
+
+    private static int hash(long key, int bits) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+    }
+}
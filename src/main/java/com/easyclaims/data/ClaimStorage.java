@@ -1,134 +1,319 @@
 package com.easyclaims.data;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
 import com.easyclaims.util.ChunkUtil;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 
 import java.io.IOException;
-import java.lang.reflect.Type;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Manages persistent storage of claims using JSON files.
+ * Manages claim data: the in-memory chunk index, the player claims cache and
+ * dirty tracking. Persistence is delegated to a {@link ClaimBackend} (JSON files by
+ * default, or an embedded SQLite database).
+ *
+ * Changes are appended to the backend as they happen. Full copies of changed players
+ * and index regions are written by the periodic flush, so it only rewrites what
+ * actually changed and dirty players don't stay pinned in the cache for long. Backends
+ * that {@link ClaimBackend#defersOwnerWrites defer owner writes} get changed players at
+ * the next checkpoint instead, which is taken early if too many of them are pinned.
+ *
+ * Protection checks on the world thread must never wait for disk. They use the
+ * *IfLoaded accessors, which return null for a cold owner and queue the load on a
+ * background thread instead.
  */
 public class ClaimStorage {
-    private final Path claimsDirectory;
-    private final Path indexFile;
-    private final Path namesFile;
-    private final Gson gson;
-    private final Map<UUID, PlayerClaims> cache;
-    private final Map<String, Map<String, UUID>> claimIndex; // world -> (chunkKey -> ownerUUID)
+    private final Path jsonIndexFile;
+    private final ClaimBackend backend;
+    private final PlayerClaimsCache cache;
+    private final Map<String, WorldClaimIndex> claimIndex; // world -> (packed chunk -> ownerUUID)
+    private volatile WorldClaimIndex[] indexById = new WorldClaimIndex[0]; // WorldRegistry id -> index
     private final Map<UUID, String> playerNames; // playerId -> username (for map display)
+    private final PlayerNameIndex nameIndex = new PlayerNameIndex(); // username -> playerId
 
     // Async save infrastructure
+    private static final long JOURNAL_FLUSH_INTERVAL_MS = 1000; // Group commit window
     private final ScheduledExecutorService saveExecutor;
-    private final AtomicBoolean indexDirty = new AtomicBoolean(false);
+    private static final int LOADER_THREADS = 2;
+    private final ExecutorService loadExecutor;
+    private final Set<UUID> pendingLoads = ConcurrentHashMap.newKeySet();
     private final AtomicBoolean namesDirty = new AtomicBoolean(false);
     private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> savingPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> unjournaledPlayers = ConcurrentHashMap.newKeySet(); // Dirty without a journal record
+    private final AtomicLong permissionVersion = new AtomicLong(); // Bumped after any claim, trust or load change
+    private boolean pvpInPlayerClaims = true; // Guarded by claimIndex
+    private volatile Set<UUID> changedDuringVerify; // Owners changed while verifyAllClaims runs, else null
+
+    public static final int DEFAULT_CACHE_SIZE = 2000;
 
     public ClaimStorage(Path dataDirectory) {
-        this.claimsDirectory = dataDirectory.resolve("claims");
-        this.indexFile = claimsDirectory.resolve("index.json");
-        this.namesFile = claimsDirectory.resolve("names.json");
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
-        this.cache = new ConcurrentHashMap<>();
+        this(dataDirectory, DEFAULT_CACHE_SIZE, new JsonClaimBackend(dataDirectory.resolve("claims"), false));
+    }
+
+    /**
+     * @param cacheSize maximum number of players whose claim data is kept loaded
+     * @param backend where claim data is persisted
+     */
+    public ClaimStorage(Path dataDirectory, int cacheSize, ClaimBackend backend) {
+        this.jsonIndexFile = dataDirectory.resolve("claims").resolve("index.json");
+        this.backend = backend;
+        // Players with unsaved changes must stay loaded until their file is written
+        this.cache = new PlayerClaimsCache(cacheSize,
+                id -> dirtyPlayers.contains(id) || savingPlayers.contains(id), this::detachFromIndex,
+                this::attachToIndex);
         this.claimIndex = new ConcurrentHashMap<>();
         this.playerNames = new ConcurrentHashMap<>();
 
+        if (!(backend instanceof JsonClaimBackend)) {
+            migrateFromJson(dataDirectory.resolve("claims"));
+        }
+
+        boolean importedIndex = loadIndex();
+        loadNames();
+        replayJournal();
+        if (importedIndex) {
+            finishIndexImport();
+        }
+
         // Initialize async save executor
         this.saveExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "EasyClaims-Storage");
             t.setDaemon(true);
             return t;
         });
+        saveExecutor.scheduleWithFixedDelay(backend::flush,
+                JOURNAL_FLUSH_INTERVAL_MS, JOURNAL_FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
         saveExecutor.scheduleAtFixedRate(this::flushDirtyData, 30, 30, TimeUnit.SECONDS);
 
+        this.loadExecutor = Executors.newFixedThreadPool(LOADER_THREADS, r -> {
+            Thread t = new Thread(r, "EasyClaims-Loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Creates the backend selected in the config.
+     * @throws IOException if the SQLite database cannot be opened (callers may fall back to
+     *         {@link #createJsonBackend})
+     */
+    public static ClaimBackend createBackend(String type, Path dataDirectory, boolean prettyJson) throws IOException {
+        if ("sqlite".equalsIgnoreCase(type)) {
+            try {
+                return new SqliteClaimBackend(dataDirectory.resolve("claims").resolve("claims.db"));
+            } catch (LinkageError e) {
+                throw new IOException("SQLite driver could not be loaded", e);
+            }
+        }
+        return createJsonBackend(dataDirectory, prettyJson);
+    }
+
+    public static ClaimBackend createJsonBackend(Path dataDirectory, boolean prettyJson) {
+        return new JsonClaimBackend(dataDirectory.resolve("claims"), prettyJson);
+    }
+
+    /**
+     * Copies existing JSON claim files into a new, empty backend. The JSON files are
+     * left in place as a backup.
+     */
+    private void migrateFromJson(Path claimsDirectory) {
         try {
-            Files.createDirectories(claimsDirectory);
+            if (!backend.isEmpty()) {
+                return;
+            }
+            JsonClaimBackend json = new JsonClaimBackend(claimsDirectory, false);
+            List<UUID> owners = json.listOwners();
+            if (owners.isEmpty()) {
+                return;
+            }
+
+            // Journal entries not yet folded into the JSON files, grouped by owner
+            Map<UUID, List<ClaimMutation>> pending = new HashMap<>();
+            json.replay(m -> pending.computeIfAbsent(m.owner, id -> new ArrayList<>()).add(m));
+            Set<UUID> allOwners = new HashSet<>(owners);
+            allOwners.addAll(pending.keySet());
+
+            backend.beginCheckpoint();
+            boolean ok = true;
+            for (UUID owner : allOwners) {
+                PlayerClaims claims = json.loadOwner(owner);
+                if (claims == null) {
+                    claims = new PlayerClaims(owner);
+                }
+                claims.applyAll(pending.getOrDefault(owner, Collections.emptyList()));
+                ok &= backend.writeOwner(owner, claims);
+            }
+            backend.saveNames(json.loadNames());
+            backend.finishCheckpoint(ok);
+            json.close();
+            System.out.println("[EasyClaims] Migrated " + allOwners.size() + " players from JSON files to "
+                    + backend.getName() + (ok ? "" : " (with errors - see above)"));
         } catch (IOException e) {
+            System.out.println("[EasyClaims] Failed to migrate JSON claim files: " + e.getMessage());
             e.printStackTrace();
         }
-
-        loadIndex();
-        loadNames();
     }
 
-    private void loadIndex() {
-        if (Files.exists(indexFile)) {
-            try {
-                String json = Files.readString(indexFile);
-                Type type = new TypeToken<Map<String, Map<String, String>>>() {}.getType();
-                Map<String, Map<String, String>> loaded = gson.fromJson(json, type);
-                if (loaded != null) {
-                    for (Map.Entry<String, Map<String, String>> worldEntry : loaded.entrySet()) {
-                        String world = worldEntry.getKey();
-                        Map<String, UUID> worldClaims = new ConcurrentHashMap<>();
-                        for (Map.Entry<String, String> claimEntry : worldEntry.getValue().entrySet()) {
-                            try {
-                                worldClaims.put(claimEntry.getKey(), UUID.fromString(claimEntry.getValue()));
-                            } catch (IllegalArgumentException ignored) {}
-                        }
-                        claimIndex.put(world, worldClaims);
-                    }
+    /**
+     * Applies journal entries written since the last checkpoint, then folds them into
+     * a fresh checkpoint so the journal starts empty.
+     */
+    private void replayJournal() {
+        Map<UUID, List<ClaimMutation>> byOwner = new LinkedHashMap<>();
+        int replayed = backend.replay(m -> byOwner.computeIfAbsent(m.owner, id -> new ArrayList<>()).add(m));
+        if (replayed == 0) {
+            return;
+        }
+
+        // Apply each owner's entries as one batch, then bring the index in line with the
+        // result. All removals go first, so a chunk unclaimed by one player and claimed
+        // by another ends up with the new owner.
+        List<Claim> removed = new ArrayList<>();
+        Map<UUID, List<Claim>> added = new HashMap<>();
+        for (Map.Entry<UUID, List<ClaimMutation>> entry : byOwner.entrySet()) {
+            UUID owner = entry.getKey();
+            dirtyPlayers.add(owner);
+            PlayerClaims claims = getPlayerClaims(owner);
+            List<Claim> before = claims.getClaims();
+            claims.applyAll(entry.getValue());
+            List<Claim> after = claims.getClaims();
+
+            Set<Claim> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+            kept.addAll(after);
+            for (Claim claim : before) {
+                if (!kept.remove(claim)) {
+                    removed.add(claim);
                 }
-            } catch (IOException e) {
-                e.printStackTrace();
             }
+            if (!kept.isEmpty()) {
+                added.put(owner, new ArrayList<>(kept));
+            }
+        }
+        removeFromIndex(removed);
+        added.forEach((owner, claims) -> {
+            for (Claim claim : claims) {
+                getOrCreateWorldIndex(claim.getWorld()).put(owner, claim);
+            }
+        });
+        bumpPermissionVersion();
+
+        System.out.println("[EasyClaims] Replayed " + replayed + " claim journal entries");
+        compact();
+    }
+
+    /**
+     * Loads the chunk index from the backend.
+     * @return true if it was imported from a legacy format and must be written out in full
+     */
+    private boolean loadIndex() {
+        try {
+            return backend.scanIndex((world, chunks) -> getOrCreateWorldIndex(world).putAll(chunks));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
         }
     }
 
-    private void saveIndex() {
-        indexDirty.set(true);
+    /**
+     * Writes the imported index out in full and lets the backend retire the old file,
+     * so it isn't imported again on the next startup.
+     */
+    private void finishIndexImport() {
+        for (WorldClaimIndex worldClaims : claimIndex.values()) {
+            worldClaims.markAllRegionsDirty();
+        }
+        compact();
+        backend.finishIndexImport();
     }
 
-    private void saveIndexNow() {
-        Map<String, Map<String, String>> toSave = new HashMap<>();
-        for (Map.Entry<String, Map<String, UUID>> worldEntry : claimIndex.entrySet()) {
-            Map<String, String> worldClaims = new HashMap<>();
-            for (Map.Entry<String, UUID> claimEntry : worldEntry.getValue().entrySet()) {
-                worldClaims.put(claimEntry.getKey(), claimEntry.getValue().toString());
+    /**
+     * Writes every index region changed since the last flush.
+     * @return true if all dirty regions were written
+     */
+    private synchronized boolean saveDirtyRegions() {
+        List<ClaimBackend.IndexRegion> regions = new ArrayList<>();
+        for (WorldClaimIndex worldClaims : claimIndex.values()) {
+            long[] dirty = worldClaims.drainDirtyRegions();
+            // Every region is written from the same snapshot, so the files never mix states
+            WorldClaimIndex.Snapshot snapshot = worldClaims.snapshot();
+            for (long region : dirty) {
+                regions.add(new ClaimBackend.IndexRegion(worldClaims.getWorld(), region, snapshot.getRegion(region)));
+            }
+        }
+        if (backend.writeIndexRegions(regions)) {
+            return true;
+        }
+        // Retry every region of this batch on the next flush
+        for (ClaimBackend.IndexRegion region : regions) {
+            worldIndex(region.world).markRegionDirty(region.regionKey);
+        }
+        return false;
+    }
+
+    /**
+     * Exports the claim index as index.json (world -> "x,z" -> owner UUID) for hand editing.
+     * With the JSON backend, an index.json edited after the export is imported back in
+     * place of the region files at the next startup; an unedited export is not.
+     *
+     * @return the exported file, or null if the export failed
+     */
+    public Path exportIndexJson() {
+        boolean regionsSaved = saveDirtyRegions();
+        Map<String, Long2ObjectMap<UUID>> toSave = new HashMap<>();
+        for (Map.Entry<String, WorldClaimIndex> worldEntry : claimIndex.entrySet()) {
+            Long2ObjectOpenHashMap<UUID> owners = new Long2ObjectOpenHashMap<>();
+            for (Long2IntMap.Entry entry : worldEntry.getValue().snapshot().entries()) {
+                owners.put(entry.getLongKey(), OwnerRegistry.getUuid(entry.getIntValue()));
             }
-            toSave.put(worldEntry.getKey(), worldClaims);
+            toSave.put(worldEntry.getKey(), owners);
         }
 
         try {
-            Files.writeString(indexFile, gson.toJson(toSave));
+            // Always indented - this file exists to be edited by hand
+            ClaimJsonCodec.writeIndex(jsonIndexFile, toSave, true);
+            if (regionsSaved && backend instanceof JsonClaimBackend json) {
+                json.markIndexExported();
+            }
+            return jsonIndexFile;
         } catch (IOException e) {
             e.printStackTrace();
+            return null;
         }
     }
 
     private void loadNames() {
-        if (Files.exists(namesFile)) {
-            try {
-                String json = Files.readString(namesFile);
-                Type type = new TypeToken<Map<String, String>>() {}.getType();
-                Map<String, String> loaded = gson.fromJson(json, type);
-                if (loaded != null) {
-                    for (Map.Entry<String, String> entry : loaded.entrySet()) {
-                        try {
-                            playerNames.put(UUID.fromString(entry.getKey()), entry.getValue());
-                        } catch (IllegalArgumentException ignored) {}
-                    }
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+        try {
+            playerNames.putAll(backend.loadNames());
+            playerNames.forEach(nameIndex::put);
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
 
@@ -137,12 +322,8 @@ public class ClaimStorage {
     }
 
     private void saveNamesNow() {
-        Map<String, String> toSave = new HashMap<>();
-        for (Map.Entry<UUID, String> entry : playerNames.entrySet()) {
-            toSave.put(entry.getKey().toString(), entry.getValue());
-        }
         try {
-            Files.writeString(namesFile, gson.toJson(toSave));
+            backend.saveNames(playerNames);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -153,8 +334,11 @@ public class ClaimStorage {
      */
     public void setPlayerName(UUID playerId, String username) {
         if (playerId != null && username != null) {
-            playerNames.put(playerId, username);
-            saveNames();
+            String previous = playerNames.put(playerId, username);
+            nameIndex.put(playerId, username);
+            if (!username.equals(previous)) {
+                saveNames();
+            }
         }
     }
 
@@ -174,15 +358,23 @@ public class ClaimStorage {
      * @return the UUID if found, null otherwise
      */
     public UUID getPlayerUUID(String username) {
-        if (username == null || username.isEmpty()) {
-            return null;
-        }
-        for (Map.Entry<UUID, String> entry : playerNames.entrySet()) {
-            if (entry.getValue().equalsIgnoreCase(username)) {
-                return entry.getKey();
+        return nameIndex.get(username);
+    }
+
+    /**
+     * Finds stored usernames starting with a prefix (case-insensitive), for tab completion.
+     * @param limit maximum number of names to return
+     * @return matching usernames in alphabetical order
+     */
+    public List<String> findPlayerNames(String prefix, int limit) {
+        List<String> names = new ArrayList<>();
+        for (UUID playerId : nameIndex.findByPrefix(prefix, limit)) {
+            String name = playerNames.get(playerId);
+            if (name != null) {
+                names.add(name);
             }
         }
-        return null;
+        return names;
     }
 
     /**
@@ -190,11 +382,73 @@ public class ClaimStorage {
      * @return Map of chunk key ("x,z") to owner UUID
      */
     public Map<String, UUID> getClaimedChunksInWorld(String world) {
-        Map<String, UUID> worldClaims = claimIndex.get(world);
+        WorldClaimIndex worldClaims = worldIndex(world);
         if (worldClaims == null) {
             return Collections.emptyMap();
         }
-        return Collections.unmodifiableMap(worldClaims);
+        Map<String, UUID> result = new HashMap<>();
+        for (Long2IntMap.Entry entry : worldClaims.snapshot().entries()) {
+            long chunk = entry.getLongKey();
+            result.put(ChunkUtil.chunkKey(ChunkUtil.chunkIndexX(chunk), ChunkUtil.chunkIndexZ(chunk)),
+                    OwnerRegistry.getUuid(entry.getIntValue()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Gets the chunk index for a world, or null if nothing has ever been claimed there.
+     * Hot paths can resolve this once and then query chunks without further map lookups.
+     */
+    public WorldClaimIndex getWorldIndex(String world) {
+        return worldIndex(world);
+    }
+
+    /**
+     * Gets the chunk index for a world id (see {@link WorldRegistry}), or null.
+     */
+    public WorldClaimIndex getWorldIndex(int worldId) {
+        return worldIndex(worldId);
+    }
+
+    private WorldClaimIndex worldIndex(String world) {
+        return worldIndex(WorldRegistry.findId(world));
+    }
+
+    private WorldClaimIndex worldIndex(int worldId) {
+        WorldClaimIndex[] byId = indexById;
+        return worldId >= 0 && worldId < byId.length ? byId[worldId] : null;
+    }
+
+    /**
+     * Gets an immutable view of a world's chunk owners. Lookups on it are lock-free and
+     * repeatable, e.g. for every chunk of one map render.
+     */
+    public WorldClaimIndex.Snapshot getIndexSnapshot(String world) {
+        WorldClaimIndex worldClaims = worldIndex(world);
+        return worldClaims != null ? worldClaims.snapshot() : WorldClaimIndex.Snapshot.EMPTY;
+    }
+
+    private WorldClaimIndex getOrCreateWorldIndex(String world) {
+        WorldClaimIndex existing = worldIndex(WorldRegistry.getId(world));
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (claimIndex) {
+            WorldClaimIndex worldClaims = claimIndex.computeIfAbsent(world, name -> {
+                WorldClaimIndex created = new WorldClaimIndex(name);
+                created.setPvpInPlayerClaims(pvpInPlayerClaims);
+                return created;
+            });
+            WorldClaimIndex[] byId = indexById;
+            if (worldClaims.getWorldId() >= byId.length) {
+                byId = Arrays.copyOf(byId, WorldRegistry.size());
+            } else {
+                byId = byId.clone();
+            }
+            byId[worldClaims.getWorldId()] = worldClaims;
+            indexById = byId;
+            return worldClaims;
+        }
     }
 
     /**
@@ -208,13 +462,11 @@ public class ClaimStorage {
      */
     public Map<long[], ClaimInfo> getClaimsInArea(String world, int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ) {
         Map<long[], ClaimInfo> result = new HashMap<>();
-        Map<String, UUID> worldClaims = claimIndex.get(world);
-        if (worldClaims == null) return result;
+        WorldClaimIndex.Snapshot snapshot = getIndexSnapshot(world);
 
         for (int cx = minChunkX; cx <= maxChunkX; cx++) {
             for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
-                String key = ChunkUtil.chunkKey(cx, cz);
-                UUID owner = worldClaims.get(key);
+                UUID owner = snapshot.getOwner(cx, cz);
                 if (owner != null) {
                     String ownerName = getPlayerName(owner);
                     result.put(new long[]{cx, cz}, new ClaimInfo(owner, ownerName));
@@ -238,180 +490,474 @@ public class ClaimStorage {
     }
 
     public PlayerClaims getPlayerClaims(UUID playerId) {
-        return cache.computeIfAbsent(playerId, this::loadPlayerClaims);
+        return cache.get(playerId, this::loadPlayerClaims);
     }
 
+    /**
+     * Gets a counter that changes whenever a permission decision could change: a claim
+     * or trust change, or an owner's data finishing loading. A decision computed after
+     * reading version v is still valid while the counter reads v.
+     */
+    public long getPermissionVersion() {
+        return permissionVersion.get();
+    }
+
+    /**
+     * Invalidates all cached permission decisions. Call after the change is visible.
+     */
+    public void bumpPermissionVersion() {
+        permissionVersion.incrementAndGet();
+    }
+
+    /**
+     * Gets a player's claims only if they are already in memory. On a miss the load is
+     * queued in the background and null is returned, so callers on the world thread
+     * never block on disk.
+     */
+    public PlayerClaims getPlayerClaimsIfLoaded(UUID playerId) {
+        PlayerClaims claims = cache.getIfLoaded(playerId);
+        if (claims == null) {
+            prefetch(playerId);
+        }
+        return claims;
+    }
+
+    /**
+     * Loads a player's claims in the background if they are not cached yet.
+     */
+    public void prefetch(UUID playerId) {
+        if (playerId == null || cache.contains(playerId) || !pendingLoads.add(playerId)) {
+            return;
+        }
+        try {
+            loadExecutor.execute(() -> {
+                try {
+                    getPlayerClaims(playerId);
+                    bumpPermissionVersion(); // Checks denied while this owner was loading can now pass
+                } finally {
+                    pendingLoads.remove(playerId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingLoads.remove(playerId); // Shutting down
+        }
+    }
+
+    /**
+     * Prefetches the owners of all claims within a radius of a chunk, so their trust
+     * data is ready before a player walking by interacts with them.
+     */
+    public void prefetchAround(String world, int centerChunkX, int centerChunkZ, int radius) {
+        WorldClaimIndex worldClaims = worldIndex(world);
+        if (worldClaims == null) return;
+
+        UUID lastOwner = null;
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                UUID owner = worldClaims.getOwner(centerChunkX + dx, centerChunkZ + dz);
+                if (owner != null && !owner.equals(lastOwner)) {
+                    prefetch(owner);
+                    lastOwner = owner;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the player claims cache (for size, hit ratio and eviction statistics).
+     */
+    public PlayerClaimsCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Reads a player's claims for the cache, which attaches them to the index once loaded.
+     */
     private PlayerClaims loadPlayerClaims(UUID playerId) {
-        Path file = claimsDirectory.resolve(playerId.toString() + ".json");
+        PlayerClaims claims = readPlayerClaims(playerId);
+        return claims != null ? claims : new PlayerClaims(playerId);
+    }
 
-        if (Files.exists(file)) {
+    /**
+     * Reads a player's stored claims without touching the cache or index.
+     * @return the stored claims, or null if the player has none or they could not be read
+     */
+    private PlayerClaims readPlayerClaims(UUID playerId) {
+        try {
+            return backend.loadOwner(playerId);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // ===== STARTUP VERIFICATION =====
+
+    /**
+     * Runs {@link #verifyAllClaims} on its own thread, so startup doesn't wait for every
+     * claim file to be read. Protection works from the index meanwhile.
+     */
+    public void verifyAllClaimsInBackground(boolean repair) {
+        Thread thread = new Thread(() -> {
             try {
-                String json = Files.readString(file);
-                PlayerClaimsJson data = gson.fromJson(json, PlayerClaimsJson.class);
-
-                PlayerClaims claims = new PlayerClaims(playerId);
-                if (data != null) {
-                    if (data.claims != null) {
-                        for (ClaimJson c : data.claims) {
-                            // Migration: null values use defaults (pvpEnabled=true, adminClaim=false)
-                            boolean pvpEnabled = c.pvpEnabled != null ? c.pvpEnabled : true;
-                            boolean adminClaim = c.adminClaim != null ? c.adminClaim : false;
-                            claims.addClaim(new Claim(c.world, c.chunkX, c.chunkZ, c.claimedAt,
-                                    pvpEnabled, adminClaim, c.displayName));
-                        }
-                    }
-                    // Newest format: trustedPlayersData (Map<UUID, TrustedPlayerJson>)
-                    if (data.trustedPlayersData != null) {
-                        for (Map.Entry<String, TrustedPlayerJson> entry : data.trustedPlayersData.entrySet()) {
-                            try {
-                                UUID trustedId = UUID.fromString(entry.getKey());
-                                TrustedPlayerJson tp = entry.getValue();
-                                String name = tp.name != null ? tp.name : trustedId.toString();
-                                TrustLevel level = TrustLevel.fromString(tp.level);
-                                if (level == null) level = TrustLevel.BUILD; // Default to BUILD
-                                claims.addTrustedPlayer(trustedId, name, level);
-                            } catch (IllegalArgumentException ignored) {}
-                        }
-                    }
-                    // Previous format: trustedPlayersWithNames (Map<UUID, name>)
-                    else if (data.trustedPlayersWithNames != null) {
-                        for (Map.Entry<String, String> entry : data.trustedPlayersWithNames.entrySet()) {
-                            try {
-                                UUID trustedId = UUID.fromString(entry.getKey());
-                                String name = entry.getValue() != null ? entry.getValue() : trustedId.toString();
-                                claims.addTrustedPlayer(trustedId, name, TrustLevel.BUILD);
-                            } catch (IllegalArgumentException ignored) {}
-                        }
-                    }
-                    // Oldest format: trustedPlayers (List<UUID>)
-                    else if (data.trustedPlayers != null) {
-                        for (String trusted : data.trustedPlayers) {
-                            try {
-                                UUID trustedId = UUID.fromString(trusted);
-                                claims.addTrustedPlayer(trustedId, trusted, TrustLevel.BUILD);
-                            } catch (IllegalArgumentException ignored) {}
-                        }
+                verifyAllClaims(repair);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, "EasyClaims-Verify");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Loads every player claim file, checks it against the chunk index and warms the
+     * cache with as many players as it holds. Files are read in parallel when the
+     * backend supports concurrent loads.
+     *
+     * Reported mismatches:
+     * - a claim in a player file that the index does not have (repaired: added to the index)
+     * - an index entry that no player file backs (repaired: removed from the index)
+     * - a chunk that the index and a player file assign to different owners (reported only)
+     *
+     * Owners whose claims change while the check runs are skipped, since their file
+     * may already be out of date.
+     *
+     * @param repair whether to fix missing and orphaned index entries
+     */
+    public void verifyAllClaims(boolean repair) {
+        long start = System.nanoTime();
+        Set<UUID> changed = ConcurrentHashMap.newKeySet();
+        changedDuringVerify = changed;
+        try {
+            verifyAllClaims(repair, changed, start);
+        } finally {
+            changedDuringVerify = null;
+        }
+    }
+
+    private void verifyAllClaims(boolean repair, Set<UUID> changed, long start) {
+        List<UUID> owners;
+        try {
+            owners = backend.listOwners();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        Map<UUID, PlayerClaims> loaded = new ConcurrentHashMap<>();
+        Set<UUID> unreadable = ConcurrentHashMap.newKeySet();
+        int threads = backend.supportsConcurrentLoads() ? Runtime.getRuntime().availableProcessors() : 1;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> owners.parallelStream().forEach(playerId -> {
+                try {
+                    PlayerClaims claims = readPlayerClaims(playerId);
+                    if (claims != null) {
+                        loaded.put(playerId, claims);
+                    } else {
+                        unreadable.add(playerId);
                     }
+                } catch (RuntimeException e) {
+                    unreadable.add(playerId);
+                    System.out.println("[EasyClaims] Unreadable claim data for " + playerId + ": " + e.getMessage());
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return;
+        } finally {
+            pool.shutdown();
+        }
+        long loadNanos = System.nanoTime() - start;
 
-                    // Load admin-granted bonus fields
-                    claims.setBonusClaimSlots(data.bonusClaimSlots);
-                    claims.setBonusMaxClaims(data.bonusMaxClaims);
-                    claims.setUnlimitedClaims(data.unlimitedClaims);
+        // Prefer the cached instance where one exists - it may hold unsaved changes
+        for (UUID playerId : cache.keys()) {
+            PlayerClaims cached = cache.getIfPresent(playerId);
+            if (cached != null) {
+                loaded.put(playerId, cached);
+            }
+        }
+
+        int missing = 0;
+        int orphaned = 0;
+        int conflicts = 0;
+        Map<String, Set<Long>> backed = new HashMap<>();
+        for (Map.Entry<UUID, PlayerClaims> entry : loaded.entrySet()) {
+            UUID playerId = entry.getKey();
+            for (Claim claim : entry.getValue().getClaims()) {
+                backed.computeIfAbsent(claim.getWorld(), w -> new HashSet<>())
+                        .add(ChunkUtil.chunkIndex(claim.getChunkX(), claim.getChunkZ()));
+                if (changed.contains(playerId)) continue;
+                WorldClaimIndex worldClaims = getOrCreateWorldIndex(claim.getWorld());
+                UUID indexed = worldClaims.getOwner(claim.getChunkX(), claim.getChunkZ());
+                if (indexed == null) {
+                    missing++;
+                    reportMismatch(missing + conflicts + orphaned, "Claim " + describe(claim)
+                            + " of " + playerId + " is missing from the index");
+                    // Re-check right before repairing: the chunk may have been claimed meanwhile
+                    if (repair && !changed.contains(playerId)
+                            && worldClaims.getOwner(claim.getChunkX(), claim.getChunkZ()) == null) {
+                        worldClaims.put(claim.getChunkX(), claim.getChunkZ(), playerId);
+                    }
+                } else if (!indexed.equals(playerId)) {
+                    conflicts++;
+                    reportMismatch(missing + conflicts + orphaned, "Claim " + describe(claim)
+                            + " is owned by " + indexed + " in the index but also listed by " + playerId);
+                }
+            }
+        }
+        for (WorldClaimIndex worldClaims : claimIndex.values()) {
+            Set<Long> worldBacked = backed.getOrDefault(worldClaims.getWorld(), Collections.emptySet());
+            for (Long2IntMap.Entry entry : worldClaims.snapshot().entries()) {
+                long chunk = entry.getLongKey();
+                UUID owner = OwnerRegistry.getUuid(entry.getIntValue());
+                // Never drop entries of players whose file we could not read or who changed meanwhile
+                if (worldBacked.contains(chunk) || unreadable.contains(owner) || changed.contains(owner)) continue;
+                orphaned++;
+                int chunkX = ChunkUtil.chunkIndexX(chunk);
+                int chunkZ = ChunkUtil.chunkIndexZ(chunk);
+                reportMismatch(missing + conflicts + orphaned, "Index entry " + worldClaims.getWorld() + " "
+                        + ChunkUtil.chunkKey(chunkX, chunkZ) + " -> " + owner + " has no claim file entry");
+                if (repair && !changed.contains(owner)) {
+                    worldClaims.remove(chunkX, chunkZ);
                 }
-                return claims;
-            } catch (IOException e) {
-                e.printStackTrace();
             }
         }
 
-        return new PlayerClaims(playerId);
-    }
+        // Warm the cache up to its capacity
+        int warmed = 0;
+        for (Map.Entry<UUID, PlayerClaims> entry : loaded.entrySet()) {
+            if (cache.size() >= cache.getMaximumSize()) break;
+            if (changed.contains(entry.getKey())) continue; // The file we read may be stale
+            if (cache.putIfAbsent(entry.getKey(), entry.getValue())) {
+                attachToIndex(entry.getKey(), entry.getValue());
+                warmed++;
+            }
+        }
 
-    public void savePlayerClaims(UUID playerId) {
-        dirtyPlayers.add(playerId);
+        bumpPermissionVersion();
+
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+        double seconds = Math.max(loadNanos, 1) / 1_000_000_000.0;
+        System.out.println(String.format("[EasyClaims] Loaded %d claim files in %d ms (%.0f files/sec), %d unreadable",
+                loaded.size(), loadNanos / 1_000_000, loaded.size() / seconds, unreadable.size()));
+        System.out.println("[EasyClaims] Claim check: " + missing + " missing from index, " + orphaned
+                + " orphaned index entries, " + conflicts + " owner conflicts"
+                + (repair && (missing + orphaned) > 0 ? " (index repaired)" : "")
+                + "; warmed " + warmed + " players in " + totalMillis + " ms total");
     }
 
-    private void savePlayerClaimsNow(UUID playerId) {
-        PlayerClaims claims = cache.get(playerId);
-        if (claims == null) return;
+    private static final int MAX_REPORTED_MISMATCHES = 20;
 
-        Path file = claimsDirectory.resolve(playerId.toString() + ".json");
+    private static void reportMismatch(int count, String message) {
+        if (count <= MAX_REPORTED_MISMATCHES) {
+            System.out.println("[EasyClaims] " + message);
+        } else if (count == MAX_REPORTED_MISMATCHES + 1) {
+            System.out.println("[EasyClaims] ... further mismatches not listed");
+        }
+    }
 
-        PlayerClaimsJson data = new PlayerClaimsJson();
-        data.claims = new ArrayList<>();
-        data.trustedPlayersData = new HashMap<>();
+    private static String describe(Claim claim) {
+        return claim.getWorld() + " " + ChunkUtil.chunkKey(claim.getChunkX(), claim.getChunkZ());
+    }
 
+    /**
+     * Points the chunk index at the loaded Claim objects so getClaimAt is a direct lookup.
+     */
+    private void attachToIndex(UUID playerId, PlayerClaims claims) {
         for (Claim claim : claims.getClaims()) {
-            ClaimJson c = new ClaimJson();
-            c.world = claim.getWorld();
-            c.chunkX = claim.getChunkX();
-            c.chunkZ = claim.getChunkZ();
-            c.claimedAt = claim.getClaimedAt();
-            c.pvpEnabled = claim.isPvpEnabled();
-            c.adminClaim = claim.isAdminClaim();
-            c.displayName = claim.getDisplayName();
-            data.claims.add(c);
-        }
-
-        // Save trusted players with their names and trust levels
-        for (Map.Entry<UUID, TrustedPlayer> entry : claims.getTrustedPlayersMap().entrySet()) {
-            TrustedPlayer tp = entry.getValue();
-            TrustedPlayerJson tpj = new TrustedPlayerJson();
-            tpj.name = tp.getName();
-            tpj.level = tp.getLevel().getKey();
-            data.trustedPlayersData.put(entry.getKey().toString(), tpj);
-        }
-
-        // Save admin-granted bonus fields
-        data.bonusClaimSlots = claims.getBonusClaimSlots();
-        data.bonusMaxClaims = claims.getBonusMaxClaims();
-        data.unlimitedClaims = claims.hasUnlimitedClaims();
+            WorldClaimIndex worldClaims = worldIndex(claim.getWorldId());
+            if (worldClaims != null) {
+                worldClaims.attach(playerId, claim);
+            }
+        }
+    }
+
+    /**
+     * Releases an evicted player's Claim objects from the index; the owner entries stay.
+     */
+    private void detachFromIndex(UUID playerId, PlayerClaims claims) {
+        for (Claim claim : claims.getClaims()) {
+            WorldClaimIndex worldClaims = worldIndex(claim.getWorldId());
+            if (worldClaims != null) {
+                worldClaims.detach(claim);
+            }
+        }
+    }
 
+    /**
+     * Records a player's admin-granted bonus fields in the journal and marks their
+     * file for the next snapshot. Call after changing bonus slots/max/unlimited.
+     */
+    public void saveBonusClaims(UUID playerId) {
+        dirtyPlayers.add(playerId);
+        PlayerClaims claims = getPlayerClaims(playerId);
+        record(ClaimMutation.bonus(playerId, claims.getBonusClaimSlots(),
+                claims.getBonusMaxClaims(), claims.hasUnlimitedClaims()));
+    }
+
+    /**
+     * Saves a player's data after a change that has no journal mutation of its own.
+     * Their full data is written on the storage thread right away.
+     */
+    public void savePlayerClaims(UUID playerId) {
+        dirtyPlayers.add(playerId);
+        unjournaledPlayers.add(playerId);
         try {
-            Files.writeString(file, gson.toJson(data));
-        } catch (IOException e) {
-            e.printStackTrace();
+            saveExecutor.execute(() -> saveOwners(new UUID[] { playerId }));
+        } catch (RejectedExecutionException e) {
+            // Shutting down - the final snapshot writes them
         }
     }
 
+    /**
+     * Appends a mutation and marks its owner dirty again. A save that unmarked the owner
+     * while the change was being made may have missed it; the second mark keeps the
+     * change from being dropped.
+     */
+    private void record(ClaimMutation mutation) {
+        backend.append(mutation);
+        dirtyPlayers.add(mutation.owner);
+        Set<UUID> changed = changedDuringVerify;
+        if (changed != null) {
+            changed.add(mutation.owner);
+        }
+    }
+
+    private boolean savePlayerClaimsNow(UUID playerId, PlayerClaims claims) {
+        return backend.writeOwner(playerId, claims);
+    }
+
     public void addClaim(UUID playerId, Claim claim) {
+        applyClaim(playerId, claim);
+        record(ClaimMutation.claim(playerId, claim));
+    }
+
+    private void applyClaim(UUID playerId, Claim claim) {
+        dirtyPlayers.add(playerId);
         PlayerClaims claims = getPlayerClaims(playerId);
-        claims.addClaim(claim);
+        if (!claims.addClaim(claim)) {
+            // Already owned - keep the index pointing at the stored instance
+            claim = claims.getClaim(claim.getWorld(), claim.getChunkX(), claim.getChunkZ());
+        }
 
         // Update index
-        String chunkKey = ChunkUtil.chunkKey(claim.getChunkX(), claim.getChunkZ());
-        claimIndex.computeIfAbsent(claim.getWorld(), k -> new ConcurrentHashMap<>()).put(chunkKey, playerId);
-
-        savePlayerClaims(playerId);
-        saveIndex();
+        getOrCreateWorldIndex(claim.getWorld()).put(playerId, claim);
+        bumpPermissionVersion();
     }
 
     public void removeClaim(UUID playerId, String world, int chunkX, int chunkZ) {
+        applyUnclaim(playerId, world, chunkX, chunkZ);
+        record(ClaimMutation.unclaim(playerId, world, chunkX, chunkZ));
+    }
+
+    private void applyUnclaim(UUID playerId, String world, int chunkX, int chunkZ) {
+        dirtyPlayers.add(playerId);
         PlayerClaims claims = getPlayerClaims(playerId);
         claims.removeClaim(world, chunkX, chunkZ);
 
         // Update index
-        String chunkKey = ChunkUtil.chunkKey(chunkX, chunkZ);
-        Map<String, UUID> worldClaims = claimIndex.get(world);
+        WorldClaimIndex worldClaims = worldIndex(world);
         if (worldClaims != null) {
-            worldClaims.remove(chunkKey);
+            worldClaims.remove(chunkX, chunkZ);
         }
-
-        savePlayerClaims(playerId);
-        saveIndex();
+        bumpPermissionVersion();
     }
 
     /**
      * Removes all claims for a player.
      */
     public void removeAllClaims(UUID playerId) {
+        applyUnclaimAll(playerId);
+        record(ClaimMutation.unclaimAll(playerId));
+    }
+
+    private void applyUnclaimAll(UUID playerId) {
+        dirtyPlayers.add(playerId);
         PlayerClaims claims = getPlayerClaims(playerId);
 
-        // Remove from index
-        for (Claim claim : claims.getClaims()) {
-            String chunkKey = ChunkUtil.chunkKey(claim.getChunkX(), claim.getChunkZ());
-            Map<String, UUID> worldClaims = claimIndex.get(claim.getWorld());
+        removeFromIndex(claims.getClaims());
+        claims.clearAllClaims();
+        bumpPermissionVersion();
+    }
+
+    /**
+     * Removes claims from the index, one batch per world.
+     */
+    private void removeFromIndex(Collection<Claim> claims) {
+        Int2ObjectOpenHashMap<LongArrayList> chunksByWorld = new Int2ObjectOpenHashMap<>();
+        for (Claim claim : claims) {
+            chunksByWorld.computeIfAbsent(claim.getWorldId(), id -> new LongArrayList())
+                    .add(ChunkUtil.chunkIndex(claim.getChunkX(), claim.getChunkZ()));
+        }
+        for (Int2ObjectMap.Entry<LongArrayList> entry : chunksByWorld.int2ObjectEntrySet()) {
+            WorldClaimIndex worldClaims = worldIndex(entry.getIntKey());
             if (worldClaims != null) {
-                worldClaims.remove(chunkKey);
+                worldClaims.removeAll(entry.getValue());
             }
         }
-
-        // Clear claims
-        claims.clearAllClaims();
-
-        savePlayerClaims(playerId);
-        saveIndex();
     }
 
     /**
      * Gets the owner of a chunk, or null if unclaimed.
      */
     public UUID getClaimOwner(String world, int chunkX, int chunkZ) {
-        Map<String, UUID> worldClaims = claimIndex.get(world);
+        return getClaimOwner(WorldRegistry.findId(world), chunkX, chunkZ);
+    }
+
+    /**
+     * Gets the owner of a chunk by world id (see {@link WorldRegistry}), or null if unclaimed.
+     */
+    public UUID getClaimOwner(int worldId, int chunkX, int chunkZ) {
+        WorldClaimIndex worldClaims = worldIndex(worldId);
         if (worldClaims == null) return null;
 
-        String chunkKey = ChunkUtil.chunkKey(chunkX, chunkZ);
-        return worldClaims.get(chunkKey);
+        return worldClaims.getOwner(chunkX, chunkZ);
+    }
+
+    /**
+     * Gets the owner id (see {@link OwnerRegistry}) of a chunk, or {@link OwnerRegistry#NONE} if unclaimed.
+     */
+    public int getClaimOwnerId(int worldId, int chunkX, int chunkZ) {
+        WorldClaimIndex worldClaims = worldIndex(worldId);
+        if (worldClaims == null) return OwnerRegistry.NONE;
+
+        return worldClaims.getOwnerId(chunkX, chunkZ);
+    }
+
+    /**
+     * Checks if a chunk may be claimed, using only the world's occupancy bitmap.
+     * @return false only if the chunk is definitely unclaimed
+     */
+    public boolean mightBeClaimed(int worldId, int chunkX, int chunkZ) {
+        WorldClaimIndex worldClaims = worldIndex(worldId);
+        return worldClaims != null && worldClaims.mightBeClaimed(chunkX, chunkZ);
+    }
+
+    /**
+     * Checks if PvP is disabled in a chunk by its claim (see {@link WorldClaimIndex.Snapshot#isPvpDisabled}).
+     * A single bit test, so it is cheap enough for every damage event.
+     */
+    public boolean isPvpDisabled(int worldId, int chunkX, int chunkZ) {
+        WorldClaimIndex worldClaims = worldIndex(worldId);
+        return worldClaims != null && worldClaims.isPvpDisabled(chunkX, chunkZ);
+    }
+
+    /**
+     * Applies the pvpInPlayerClaims setting to every world's PvP bits (call at startup
+     * and whenever the setting changes).
+     */
+    public void setPvpInPlayerClaims(boolean enabled) {
+        synchronized (claimIndex) {
+            pvpInPlayerClaims = enabled;
+            for (WorldClaimIndex worldClaims : claimIndex.values()) {
+                worldClaims.setPvpInPlayerClaims(enabled);
+            }
+        }
     }
 
     /**
@@ -430,21 +976,45 @@ public class ClaimStorage {
      * @return The Claim object, or null if not claimed
      */
     public Claim getClaimAt(String world, int chunkX, int chunkZ) {
-        UUID owner = getClaimOwner(world, chunkX, chunkZ);
+        WorldClaimIndex worldClaims = worldIndex(world);
+        if (worldClaims == null) return null;
+
+        Claim claim = worldClaims.getClaim(chunkX, chunkZ);
+        if (claim != null) return claim;
+
+        UUID owner = worldClaims.getOwner(chunkX, chunkZ);
         if (owner == null) return null;
 
-        PlayerClaims playerClaims = getPlayerClaims(owner);
-        for (Claim claim : playerClaims.getClaims()) {
-            if (claim.getWorld().equals(world) &&
-                claim.getChunkX() == chunkX && claim.getChunkZ() == chunkZ) {
-                return claim;
+        // Owner's data not loaded yet - loading it attaches their claims to the index
+        getPlayerClaims(owner);
+        return worldClaims.getClaim(chunkX, chunkZ);
+    }
+
+    /**
+     * Gets the claim at a location only if its owner's data is in memory; otherwise the
+     * load is queued and null is returned. Use {@link #getClaimOwner} to tell an
+     * unclaimed chunk from one that is still loading.
+     */
+    public Claim getClaimAtIfLoaded(String world, int chunkX, int chunkZ) {
+        return getClaimAtIfLoaded(WorldRegistry.findId(world), chunkX, chunkZ);
+    }
+
+    public Claim getClaimAtIfLoaded(int worldId, int chunkX, int chunkZ) {
+        WorldClaimIndex worldClaims = worldIndex(worldId);
+        if (worldClaims == null) return null;
+
+        Claim claim = worldClaims.getClaim(chunkX, chunkZ);
+        if (claim == null) {
+            UUID owner = worldClaims.getOwner(chunkX, chunkZ);
+            if (owner != null) {
+                prefetch(owner);
             }
         }
-        return null;
+        return claim;
     }
 
     /**
-     * Updates a claim's data (e.g., PvP setting) and saves.
+     * Updates a claim's data and saves.
      * The claim must already exist.
      *
      * @param playerId The claim owner's UUID
@@ -453,6 +1023,52 @@ public class ClaimStorage {
         savePlayerClaims(playerId);
     }
 
+    /**
+     * Sets the PvP flag on an existing claim and records the change.
+     *
+     * @param ownerId The claim owner's UUID
+     * @param claim The claim to update
+     * @param pvpEnabled The new PvP setting
+     */
+    public void setClaimPvp(UUID ownerId, Claim claim, boolean pvpEnabled) {
+        dirtyPlayers.add(ownerId);
+        claim.setPvpEnabled(pvpEnabled);
+        // The caller's instance may predate an eviction - update the loaded one too
+        Claim stored = getPlayerClaims(ownerId).getClaim(claim.getWorld(), claim.getChunkX(), claim.getChunkZ());
+        if (stored != null) {
+            stored.setPvpEnabled(pvpEnabled);
+        }
+        WorldClaimIndex worldClaims = worldIndex(claim.getWorldId());
+        if (worldClaims != null) {
+            worldClaims.refreshPvp(ownerId, stored != null ? stored : claim);
+        }
+        record(ClaimMutation.pvp(ownerId, claim.getWorld(), claim.getChunkX(), claim.getChunkZ(), pvpEnabled));
+    }
+
+    /**
+     * Adds or updates a trusted player on an owner's claims and records the change.
+     */
+    public void addTrustedPlayer(UUID ownerId, UUID trustedId, String trustedName, TrustLevel level) {
+        dirtyPlayers.add(ownerId);
+        getPlayerClaims(ownerId).addTrustedPlayer(trustedId, trustedName, level);
+        bumpPermissionVersion();
+        record(ClaimMutation.trust(ownerId, trustedId, trustedName, level));
+    }
+
+    /**
+     * Removes a trusted player from an owner's claims and records the change.
+     * @return the removed player's name, or null if they were not trusted
+     */
+    public String removeTrustedPlayer(UUID ownerId, UUID trustedId) {
+        dirtyPlayers.add(ownerId);
+        String removedName = getPlayerClaims(ownerId).removeTrustedPlayer(trustedId);
+        bumpPermissionVersion();
+        if (removedName != null) {
+            record(ClaimMutation.untrust(ownerId, trustedId));
+        }
+        return removedName;
+    }
+
     /**
      * Finds claims by OTHER players within a radius of a target chunk.
      * Returns the first found claim owner that isn't the excluded player, or null if none found.
@@ -466,20 +1082,21 @@ public class ClaimStorage {
      */
     public UUID findNearbyClaimByOtherPlayer(String world, int centerChunkX, int centerChunkZ,
                                               int radius, UUID excludePlayerId) {
-        Map<String, UUID> worldClaims = claimIndex.get(world);
+        WorldClaimIndex worldClaims = worldIndex(world);
         if (worldClaims == null || radius <= 0) {
             return null;
         }
 
+        WorldClaimIndex.Snapshot snapshot = worldClaims.snapshot();
+        int excludeId = OwnerRegistry.findId(excludePlayerId);
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
                 int checkX = centerChunkX + dx;
                 int checkZ = centerChunkZ + dz;
-                String key = ChunkUtil.chunkKey(checkX, checkZ);
-                UUID owner = worldClaims.get(key);
+                int ownerId = snapshot.getOwnerId(checkX, checkZ);
 
-                if (owner != null && !owner.equals(excludePlayerId)) {
-                    return owner;  // Found a claim by another player
+                if (ownerId != OwnerRegistry.NONE && ownerId != excludeId) {
+                    return OwnerRegistry.getUuid(ownerId);  // Found a claim by another player
                 }
             }
         }
@@ -488,72 +1105,145 @@ public class ClaimStorage {
 
     public void saveAll() {
         // Mark everything dirty
-        for (UUID playerId : cache.keySet()) {
+        for (UUID playerId : cache.keys()) {
             dirtyPlayers.add(playerId);
         }
-        indexDirty.set(true);
+        for (WorldClaimIndex worldClaims : claimIndex.values()) {
+            worldClaims.markAllRegionsDirty();
+        }
         namesDirty.set(true);
-        // Synchronously flush
-        flushDirtyData();
+        // Synchronously write a full snapshot
+        compact();
+        if (namesDirty.compareAndSet(true, false)) {
+            saveNamesNow();
+        }
     }
 
     /**
-     * Flushes dirty data to disk. Called periodically by background thread
-     * and synchronously during shutdown.
+     * Periodic housekeeping. Journal entries are committed separately every second;
+     * this writes the index regions and players changed since the last flush, saves
+     * names and takes a checkpoint once the backend asks for one. Writing the dirty
+     * players unpins them, so the cache can evict them again.
+     *
+     * If the backend defers owner writes, only players without a journal record are
+     * written here; the rest stay pinned until the checkpoint, which is taken once they
+     * fill half the cache.
      */
     private void flushDirtyData() {
-        if (indexDirty.compareAndSet(true, false)) {
-            saveIndexNow();
-        }
+        saveDirtyRegions();
+        boolean deferred = backend.defersOwnerWrites();
+        saveOwners((deferred ? unjournaledPlayers : dirtyPlayers).toArray(new UUID[0]));
         if (namesDirty.compareAndSet(true, false)) {
             saveNamesNow();
         }
-        // Copy and clear to avoid concurrent modification
-        for (UUID playerId : dirtyPlayers.toArray(new UUID[0])) {
-            dirtyPlayers.remove(playerId);
-            savePlayerClaimsNow(playerId);
+        if (backend.needsCheckpoint() || (deferred && dirtyPlayers.size() > cache.getMaximumSize() / 2)) {
+            compact();
+        }
+    }
+
+    /**
+     * Takes a checkpoint: writes dirty index regions plus every player changed since
+     * the last checkpoint, then lets the backend drop the mutations it covers. If any
+     * write fails they are kept so the changes are replayed on next startup.
+     */
+    private synchronized void compact() {
+        backend.beginCheckpoint();
+
+        boolean ok = saveDirtyRegions();
+        ok &= saveOwners(dirtyPlayers.toArray(new UUID[0]));
+
+        backend.finishCheckpoint(ok);
+    }
+
+    /**
+     * Saves each of the given players that is still dirty: flushes their mutations and,
+     * unless the backend already applied those in place, writes their full data. A player
+     * is only unmarked by a successful save; a failed one stays dirty for the next try.
+     * @return true if every save succeeded
+     */
+    private synchronized boolean saveOwners(UUID[] playerIds) {
+        // Keep the players pinned in the cache while they are saved, and unmark them before
+        // anything is flushed or read: a change made meanwhile marks them again
+        List<UUID> owners = new ArrayList<>();
+        for (UUID playerId : playerIds) {
+            savingPlayers.add(playerId);
+            if (dirtyPlayers.remove(playerId)) {
+                owners.add(playerId);
+            } else {
+                savingPlayers.remove(playerId);
+            }
+        }
+
+        boolean flushed = backend.flush();
+        boolean ok = true;
+        for (UUID playerId : owners) {
+            try {
+                boolean unjournaled = unjournaledPlayers.remove(playerId);
+                boolean saved;
+                if (!unjournaled && !backend.needsOwnerWrite(playerId)) {
+                    saved = flushed;
+                } else {
+                    PlayerClaims claims = cache.getIfPresent(playerId);
+                    if (claims == null) {
+                        claims = recoverPlayerClaims(playerId);
+                    }
+                    saved = claims != null && savePlayerClaimsNow(playerId, claims);
+                }
+                if (!saved) {
+                    if (unjournaled) {
+                        unjournaledPlayers.add(playerId);
+                    }
+                    dirtyPlayers.add(playerId);
+                    ok = false;
+                }
+            } finally {
+                savingPlayers.remove(playerId);
+            }
+        }
+        return ok;
+    }
+
+    /**
+     * Rebuilds a dirty player's data that is no longer cached from their stored data
+     * plus their journal entries, so it can still be written before the journal is dropped.
+     * @return the recovered data, or null if the stored data could not be read
+     */
+    private PlayerClaims recoverPlayerClaims(UUID playerId) {
+        PlayerClaims claims;
+        try {
+            claims = backend.loadOwner(playerId);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
         }
+        PlayerClaims recovered = claims != null ? claims : new PlayerClaims(playerId);
+        backend.flush();
+        List<ClaimMutation> mutations = new ArrayList<>();
+        backend.replay(mutation -> {
+            if (mutation.owner.equals(playerId)) {
+                mutations.add(mutation);
+            }
+        });
+        recovered.applyAll(mutations);
+        return recovered;
     }
 
     /**
      * Shuts down the async save executor and performs final flush.
      */
     public void shutdown() {
+        loadExecutor.shutdownNow();
         saveExecutor.shutdown();
         try {
             saveExecutor.awaitTermination(10, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
-        // Final synchronous flush to ensure all data is saved
-        flushDirtyData();
-    }
-
-    // JSON data classes
-    private static class PlayerClaimsJson {
-        List<ClaimJson> claims;
-        List<String> trustedPlayers; // Oldest format (v1)
-        Map<String, String> trustedPlayersWithNames; // Previous format (v2): UUID -> name
-        Map<String, TrustedPlayerJson> trustedPlayersData; // Current format (v3): UUID -> {name, level}
-        // Admin-granted bonus fields
-        int bonusClaimSlots = 0;     // Extra slots added after cap
-        int bonusMaxClaims = 0;      // Extra max claims capacity
-        boolean unlimitedClaims = false;  // No cap at all
-    }
-
-    private static class ClaimJson {
-        String world;
-        int chunkX;
-        int chunkZ;
-        long claimedAt;
-        // New fields for PvP/admin claims (nullable for migration)
-        Boolean pvpEnabled;
-        Boolean adminClaim;
-        String displayName;
-    }
-
-    private static class TrustedPlayerJson {
-        String name;
-        String level;
+        // Final synchronous snapshot so the next startup has nothing to replay
+        compact();
+        if (namesDirty.compareAndSet(true, false)) {
+            saveNamesNow();
+        }
+        backend.close();
     }
 }
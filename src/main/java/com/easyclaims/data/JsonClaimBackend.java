@@ -0,0 +1,335 @@
+package com.easyclaims.data;
+
+import com.easyclaims.util.ChunkUtil;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Default backend: one JSON file per player plus a binary chunk index.
+ *
+ * Mutations are appended to a {@link ClaimJournal}; player files are only rewritten
+ * at checkpoints (see {@link #defersOwnerWrites}). The chunk index is stored as one binary shard per world and
+ * 32x32-chunk region (claims/index/&lt;world&gt;/r.&lt;x&gt;.&lt;z&gt;.bin).
+ */
+public class JsonClaimBackend implements ClaimBackend {
+    private static final long COMPACTION_THRESHOLD_BYTES = 4L * 1024 * 1024; // Checkpoint once the journal is this big
+
+    private final Path claimsDirectory;
+    private final Path indexDirectory;
+    private final Path snapshotMarker;
+    private final Path legacyIndexFile;
+    private final Path jsonIndexFile;
+    private final Path namesFile;
+    private final boolean prettyJson;
+    private final ClaimJournal journal;
+    private Path importedIndexFile = null; // Legacy index.json/index.bin to retire after migration
+    private final Set<Path> staleShards = new HashSet<>(); // Shards from before an import, not rewritten yet
+    private boolean importWritten = false; // A complete checkpoint has written the imported index
+
+    /**
+     * @param prettyJson whether JSON files are written indented (compact otherwise)
+     */
+    public JsonClaimBackend(Path claimsDirectory, boolean prettyJson) {
+        this.claimsDirectory = claimsDirectory;
+        this.indexDirectory = claimsDirectory.resolve("index");
+        this.snapshotMarker = indexDirectory.resolve("snapshot");
+        this.legacyIndexFile = claimsDirectory.resolve("index.bin");
+        this.jsonIndexFile = claimsDirectory.resolve("index.json");
+        this.namesFile = claimsDirectory.resolve("names.json");
+        this.prettyJson = prettyJson;
+        this.journal = new ClaimJournal(claimsDirectory);
+
+        try {
+            Files.createDirectories(indexDirectory);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "json";
+    }
+
+    @Override
+    public boolean isEmpty() throws IOException {
+        return listOwners().isEmpty();
+    }
+
+    // ===== LOADING =====
+
+    @Override
+    public boolean scanIndex(BiConsumer<String, Long2ObjectMap<UUID>> sink) throws IOException {
+        // A legacy or hand-edited index.json newer than the last snapshot takes precedence
+        if (Files.exists(jsonIndexFile) && isNewer(jsonIndexFile, snapshotMarker)) {
+            Map<String, Long2ObjectOpenHashMap<UUID>> worlds = new HashMap<>();
+            ClaimJsonCodec.readIndex(jsonIndexFile, (world, chunkKey, owner) -> {
+                int[] coords = ChunkUtil.parseChunkKey(chunkKey);
+                if (coords == null) return;
+                try {
+                    worlds.computeIfAbsent(world, w -> new Long2ObjectOpenHashMap<>())
+                            .put(ChunkUtil.chunkIndex(coords[0], coords[1]), UUID.fromString(owner));
+                } catch (IllegalArgumentException ignored) {}
+            });
+            worlds.forEach(sink);
+            importedIndexFile = jsonIndexFile;
+            collectStaleShards();
+            return true;
+        }
+
+        if (Files.exists(snapshotMarker)) {
+            try (Stream<Path> files = Files.walk(indexDirectory, 2)) {
+                files.filter(f -> f.getFileName().toString().endsWith(".bin"))
+                        .forEach(f -> readIndexFile(f, sink));
+            }
+        } else if (Files.exists(legacyIndexFile)) {
+            // Single-file index from before region sharding
+            if (!readIndexFile(legacyIndexFile, sink)) {
+                return false; // Keep the unreadable file in place rather than replacing it
+            }
+            importedIndexFile = legacyIndexFile;
+            collectStaleShards();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers the existing shard files before an import replaces the index. Those of
+     * regions the imported index no longer has are deleted once it has been written.
+     */
+    private synchronized void collectStaleShards() throws IOException {
+        try (Stream<Path> files = Files.walk(indexDirectory, 2)) {
+            files.filter(f -> f.getFileName().toString().endsWith(".bin")).forEach(staleShards::add);
+        }
+    }
+
+    /**
+     * Reads one index file into the sink. An unreadable or corrupt file is logged and
+     * skipped, so one bad shard doesn't stop startup; its claims can be restored from
+     * the player files with startupClaimCheck=repair.
+     * @return true if the file was read
+     */
+    private boolean readIndexFile(Path file, BiConsumer<String, Long2ObjectMap<UUID>> sink) {
+        Map<String, Long2ObjectOpenHashMap<UUID>> worlds;
+        try {
+            worlds = ClaimIndexSnapshot.read(file);
+        } catch (IOException e) {
+            System.out.println("[EasyClaims] Failed to read claim index file " + file + ": " + e.getMessage());
+            return false;
+        }
+        worlds.forEach(sink);
+        return true;
+    }
+
+    private static boolean isNewer(Path file, Path other) {
+        try {
+            return !Files.exists(other)
+                    || Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(other)) > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the shards of regions the imported index no longer has, then moves the
+     * imported file aside so it isn't imported again on the next startup.
+     */
+    @Override
+    public synchronized void finishIndexImport() {
+        if (importedIndexFile == null || !importWritten) {
+            return; // Snapshot failed - keep the old index and try again next startup
+        }
+        for (Path shard : staleShards) {
+            try {
+                Files.deleteIfExists(shard);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        staleShards.clear();
+        try {
+            Path backup = importedIndexFile.resolveSibling(importedIndexFile.getFileName() + ".bak");
+            Files.move(importedIndexFile, backup, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("[EasyClaims] Migrated " + importedIndexFile.getFileName() + " to region index files");
+            importedIndexFile = null;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Marks the region files as current after the index was exported to index.json, so
+     * the export itself isn't imported on the next startup; only a later edit of it is.
+     * Call only once every dirty region has been written.
+     */
+    public synchronized void markIndexExported() {
+        try {
+            writeSnapshotMarker();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public PlayerClaims loadOwner(UUID owner) throws IOException {
+        Path file = ownerFile(owner);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return ClaimJsonCodec.readPlayerClaims(file, owner);
+    }
+
+    @Override
+    public List<UUID> listOwners() throws IOException {
+        List<UUID> owners = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(claimsDirectory)) {
+            listing.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(".json")) return;
+                try {
+                    owners.add(UUID.fromString(name.substring(0, name.length() - ".json".length())));
+                } catch (IllegalArgumentException ignored) {} // index.json, names.json, ...
+            });
+        }
+        return owners;
+    }
+
+    @Override
+    public Map<UUID, String> loadNames() throws IOException {
+        if (!Files.exists(namesFile)) {
+            return new HashMap<>();
+        }
+        return ClaimJsonCodec.readNames(namesFile);
+    }
+
+    @Override
+    public void saveNames(Map<UUID, String> names) throws IOException {
+        ClaimJsonCodec.writeNames(namesFile, names, prettyJson);
+    }
+
+    // ===== MUTATIONS =====
+
+    @Override
+    public void append(ClaimMutation mutation) {
+        journal.append(mutation);
+    }
+
+    @Override
+    public boolean flush() {
+        return journal.flush();
+    }
+
+    @Override
+    public int replay(Consumer<ClaimMutation> consumer) {
+        return journal.replay(consumer);
+    }
+
+    // ===== CHECKPOINTS =====
+
+    @Override
+    public boolean needsCheckpoint() {
+        return journal.size() >= COMPACTION_THRESHOLD_BYTES;
+    }
+
+    /**
+     * Player files are read as stored, without the journal, so changed players stay
+     * loaded until the checkpoint writes them.
+     */
+    @Override
+    public boolean defersOwnerWrites() {
+        return true;
+    }
+
+    @Override
+    public void beginCheckpoint() {
+        journal.rotate();
+    }
+
+    @Override
+    public boolean writeOwner(UUID owner, PlayerClaims claims) {
+        try {
+            ClaimJsonCodec.writePlayerClaims(ownerFile(owner), claims, prettyJson);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Writes each region to its own shard file. Regions left empty by unclaims have
+     * their file deleted.
+     */
+    @Override
+    public synchronized boolean writeIndexRegions(List<IndexRegion> regions) {
+        boolean ok = true;
+        for (IndexRegion region : regions) {
+            Path worldDirectory = indexDirectory.resolve(URLEncoder.encode(region.world, StandardCharsets.UTF_8));
+            Path file = worldDirectory.resolve("r." + ChunkUtil.chunkIndexX(region.regionKey) + "."
+                    + ChunkUtil.chunkIndexZ(region.regionKey) + ".bin");
+            staleShards.remove(file);
+            try {
+                if (region.chunks.isEmpty()) {
+                    Files.deleteIfExists(file);
+                } else {
+                    Files.createDirectories(worldDirectory);
+                    ClaimIndexSnapshot.write(file, Map.of(region.world, region.chunks));
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                ok = false;
+            }
+        }
+        if (ok && (!regions.isEmpty() || !Files.exists(snapshotMarker))) {
+            try {
+                writeSnapshotMarker();
+            } catch (IOException e) {
+                e.printStackTrace();
+                ok = false;
+            }
+        }
+        return ok;
+    }
+
+    /**
+     * Marks when the region files were last known complete (index.json import check).
+     */
+    private void writeSnapshotMarker() throws IOException {
+        Files.writeString(snapshotMarker, Long.toString(System.currentTimeMillis()));
+    }
+
+    @Override
+    public synchronized void finishCheckpoint(boolean complete) {
+        if (complete) {
+            journal.discardRotated();
+            importWritten = importedIndexFile != null;
+        }
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    private Path ownerFile(UUID owner) {
+        return claimsDirectory.resolve(owner.toString() + ".json");
+    }
+}
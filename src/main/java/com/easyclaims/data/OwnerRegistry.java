@@ -0,0 +1,70 @@
+package com.easyclaims.data;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns claim owner UUIDs to dense int ids, so the chunk index can store an int per
+ * claimed chunk and owner checks are int compares.
+ *
+ * Like {@link WorldRegistry}, ids only live for this server run; files and commands
+ * keep using UUIDs.
+ */
+public final class OwnerRegistry {
+    /** Owner id of an unclaimed chunk, and of a player who owns nothing. */
+    public static final int NONE = -1;
+
+    private static final Map<UUID, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile UUID[] owners = new UUID[64]; // id -> owner, grown by doubling
+    private static int count;
+
+    private OwnerRegistry() {
+    }
+
+    /**
+     * Gets the id of an owner, assigning the next free id if the UUID is new.
+     */
+    public static int getId(UUID owner) {
+        Integer id = ids.get(owner);
+        return id != null ? id : register(owner);
+    }
+
+    private static synchronized int register(UUID owner) {
+        Integer id = ids.get(owner);
+        if (id != null) {
+            return id;
+        }
+        UUID[] current = owners;
+        if (count == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[count] = owner;
+        owners = current; // Publish the owner before the id can be looked up
+        ids.put(owner, count);
+        return count++;
+    }
+
+    /**
+     * Gets the id of an owner without registering it.
+     * @return the id, or {@link #NONE} if this UUID never owned a claim
+     */
+    public static int findId(UUID owner) {
+        if (owner == null) return NONE;
+        Integer id = ids.get(owner);
+        return id != null ? id : NONE;
+    }
+
+    /**
+     * Gets the UUID of an owner id, or null for {@link #NONE}.
+     */
+    public static UUID getUuid(int ownerId) {
+        UUID[] current = owners;
+        return ownerId >= 0 && ownerId < current.length ? current[ownerId] : null;
+    }
+
+    public static synchronized int size() {
+        return count;
+    }
+}
@@ -1,9 +1,17 @@
 package com.easyclaims.data;
 
+import com.easyclaims.util.ChunkUtil;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -11,62 +19,215 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Holds all claims and trusted players for a single player.
+ *
+ * Claims are published as an immutable {@link ClaimSet} (the claims in claim order plus
+ * a per-world-id packed-chunk map). Lookups are a single hash probe and getClaims() hands
+ * out the current list without copying; adding or removing a claim copies the set.
+ * Batches (loading, journal replay) build the set once, see {@link #addClaims} and
+ * {@link #applyAll}.
  */
 public class PlayerClaims {
     private final UUID owner;
-    private final List<Claim> claims;
+    private volatile ClaimSet claimSet = ClaimSet.EMPTY;
+    private final Object claimsLock = new Object(); // Serializes claim set updates
     // Maps trusted player UUID to their TrustedPlayer data
     private final Map<UUID, TrustedPlayer> trustedPlayers;
+    // Lowercase name -> trusted player UUID, kept in step with trustedPlayers
+    private final Map<String, UUID> trustedByName;
 
     // Admin-granted bonus fields
     private int bonusClaimSlots = 0;           // Extra slots granted by admins (added after cap)
     private int bonusMaxClaims = 0;            // Extra max claims capacity (additive)
     private boolean unlimitedClaims = false;   // If true, no max claims cap
 
+    /**
+     * An immutable set of claims. Neither the list nor the maps are modified once published.
+     */
+    private static final class ClaimSet {
+        static final ClaimSet EMPTY = new ClaimSet(Collections.emptyList(), Int2ObjectMaps.emptyMap());
+
+        final List<Claim> list;
+        final Int2ObjectMap<Long2ObjectOpenHashMap<Claim>> byWorld; // world id -> packed chunk -> claim
+
+        ClaimSet(List<Claim> list, Int2ObjectMap<Long2ObjectOpenHashMap<Claim>> byWorld) {
+            this.list = list;
+            this.byWorld = byWorld;
+        }
+
+        Claim get(int worldId, int chunkX, int chunkZ) {
+            Long2ObjectOpenHashMap<Claim> worldClaims = byWorld.get(worldId);
+            return worldClaims != null ? worldClaims.get(ChunkUtil.chunkIndex(chunkX, chunkZ)) : null;
+        }
+    }
+
     public PlayerClaims(UUID owner) {
         this.owner = owner;
-        this.claims = Collections.synchronizedList(new ArrayList<>());
         this.trustedPlayers = new ConcurrentHashMap<>();
+        this.trustedByName = new ConcurrentHashMap<>();
     }
 
     public UUID getOwner() {
         return owner;
     }
 
+    /**
+     * Gets this player's claims in the order they were made. The returned list is a
+     * read-only snapshot; it does not change when claims are added or removed later.
+     */
     public List<Claim> getClaims() {
-        synchronized (claims) {
-            return new ArrayList<>(claims);  // Safe copy under lock
-        }
+        return claimSet.list;
     }
 
     public int getClaimCount() {
-        return claims.size();
+        return claimSet.list.size();
     }
 
-    public void addClaim(Claim claim) {
-        synchronized (claims) {
-            if (!claims.stream().anyMatch(c -> c.getWorld().equals(claim.getWorld()) &&
-                    c.getChunkX() == claim.getChunkX() && c.getChunkZ() == claim.getChunkZ())) {
-                claims.add(claim);
+    /**
+     * Adds a claim unless this player already has one on the same chunk.
+     * @return true if the claim was added
+     */
+    public boolean addClaim(Claim claim) {
+        synchronized (claimsLock) {
+            ClaimSet current = claimSet;
+            if (current.get(claim.getWorldId(), claim.getChunkX(), claim.getChunkZ()) != null) {
+                return false;
+            }
+
+            List<Claim> list = new ArrayList<>(current.list.size() + 1);
+            list.addAll(current.list);
+            list.add(claim);
+            Int2ObjectMap<Long2ObjectOpenHashMap<Claim>> byWorld = new Int2ObjectOpenHashMap<>(current.byWorld);
+            Long2ObjectOpenHashMap<Claim> worldClaims = current.byWorld.get(claim.getWorldId());
+            worldClaims = worldClaims != null ? new Long2ObjectOpenHashMap<>(worldClaims) : new Long2ObjectOpenHashMap<>();
+            worldClaims.put(ChunkUtil.chunkIndex(claim.getChunkX(), claim.getChunkZ()), claim);
+            byWorld.put(claim.getWorldId(), worldClaims);
+            claimSet = new ClaimSet(Collections.unmodifiableList(list), byWorld);
+            return true;
+        }
+    }
+
+    /**
+     * Adds many claims at once (loading), skipping chunks this player already has.
+     * Copies the claim set once instead of once per claim.
+     */
+    public void addClaims(Collection<Claim> toAdd) {
+        synchronized (claimsLock) {
+            ClaimSet current = claimSet;
+            List<Claim> list = new ArrayList<>(current.list.size() + toAdd.size());
+            list.addAll(current.list);
+            Int2ObjectMap<Long2ObjectOpenHashMap<Claim>> byWorld = new Int2ObjectOpenHashMap<>();
+            for (Int2ObjectMap.Entry<Long2ObjectOpenHashMap<Claim>> entry : current.byWorld.int2ObjectEntrySet()) {
+                byWorld.put(entry.getIntKey(), new Long2ObjectOpenHashMap<>(entry.getValue()));
             }
+            for (Claim claim : toAdd) {
+                Long2ObjectOpenHashMap<Claim> worldClaims = byWorld.computeIfAbsent(claim.getWorldId(), w -> new Long2ObjectOpenHashMap<>());
+                if (worldClaims.putIfAbsent(ChunkUtil.chunkIndex(claim.getChunkX(), claim.getChunkZ()), claim) == null) {
+                    list.add(claim);
+                }
+            }
+            claimSet = new ClaimSet(Collections.unmodifiableList(list), byWorld);
         }
     }
 
+    /**
+     * Applies many of this player's mutations at once (journal replay). The claim set is
+     * copied once, changed in place and published once, instead of copied per claim.
+     */
+    public void applyAll(List<ClaimMutation> mutations) {
+        synchronized (claimsLock) {
+            ClaimSet current = claimSet;
+            List<Claim> list = new ArrayList<>(current.list);
+            Int2ObjectMap<Long2ObjectOpenHashMap<Claim>> byWorld = new Int2ObjectOpenHashMap<>();
+            for (Int2ObjectMap.Entry<Long2ObjectOpenHashMap<Claim>> entry : current.byWorld.int2ObjectEntrySet()) {
+                byWorld.put(entry.getIntKey(), new Long2ObjectOpenHashMap<>(entry.getValue()));
+            }
+            boolean removed = false;
+            for (ClaimMutation mutation : mutations) {
+                switch (mutation.type) {
+                    case CLAIM -> {
+                        Claim claim = mutation.toClaim();
+                        Long2ObjectOpenHashMap<Claim> worldClaims = byWorld.computeIfAbsent(claim.getWorldId(), w -> new Long2ObjectOpenHashMap<>());
+                        if (worldClaims.putIfAbsent(ChunkUtil.chunkIndex(claim.getChunkX(), claim.getChunkZ()), claim) == null) {
+                            list.add(claim);
+                        }
+                    }
+                    case UNCLAIM -> {
+                        Long2ObjectOpenHashMap<Claim> worldClaims = byWorld.get(WorldRegistry.findId(mutation.world));
+                        removed |= worldClaims != null
+                                && worldClaims.remove(ChunkUtil.chunkIndex(mutation.chunkX, mutation.chunkZ)) != null;
+                    }
+                    case UNCLAIM_ALL -> {
+                        list.clear();
+                        byWorld.clear();
+                    }
+                    case PVP -> {
+                        Long2ObjectOpenHashMap<Claim> worldClaims = byWorld.get(WorldRegistry.findId(mutation.world));
+                        Claim claim = worldClaims != null ? worldClaims.get(ChunkUtil.chunkIndex(mutation.chunkX, mutation.chunkZ)) : null;
+                        if (claim != null) {
+                            claim.setPvpEnabled(mutation.pvpEnabled);
+                        }
+                    }
+                    default -> mutation.applyTo(this); // Trust and bonus changes don't touch claims
+                }
+            }
+            if (removed) {
+                // Drop removed claims from the list in one pass, keeping claim order
+                list.removeIf(claim -> {
+                    Long2ObjectOpenHashMap<Claim> worldClaims = byWorld.get(claim.getWorldId());
+                    return worldClaims == null || worldClaims.get(ChunkUtil.chunkIndex(claim.getChunkX(), claim.getChunkZ())) != claim;
+                });
+                byWorld.values().removeIf(Long2ObjectOpenHashMap::isEmpty);
+            }
+            claimSet = new ClaimSet(Collections.unmodifiableList(list), byWorld);
+        }
+    }
+
+    /**
+     * Gets this player's claim on a chunk, or null if they don't own it.
+     */
+    public Claim getClaim(String world, int chunkX, int chunkZ) {
+        return getClaim(WorldRegistry.findId(world), chunkX, chunkZ);
+    }
+
+    public Claim getClaim(int worldId, int chunkX, int chunkZ) {
+        return claimSet.get(worldId, chunkX, chunkZ);
+    }
+
     public boolean removeClaim(String world, int chunkX, int chunkZ) {
-        synchronized (claims) {
-            return claims.removeIf(c -> c.getWorld().equals(world) && c.getChunkX() == chunkX && c.getChunkZ() == chunkZ);
+        int worldId = WorldRegistry.findId(world);
+        synchronized (claimsLock) {
+            ClaimSet current = claimSet;
+            Claim claim = current.get(worldId, chunkX, chunkZ);
+            if (claim == null) {
+                return false;
+            }
+
+            List<Claim> list = new ArrayList<>(current.list.size());
+            for (Claim c : current.list) {
+                if (c != claim) {
+                    list.add(c);
+                }
+            }
+            Int2ObjectMap<Long2ObjectOpenHashMap<Claim>> byWorld = new Int2ObjectOpenHashMap<>(current.byWorld);
+            Long2ObjectOpenHashMap<Claim> worldClaims = new Long2ObjectOpenHashMap<>(current.byWorld.get(worldId));
+            worldClaims.remove(ChunkUtil.chunkIndex(chunkX, chunkZ));
+            if (worldClaims.isEmpty()) {
+                byWorld.remove(worldId);
+            } else {
+                byWorld.put(worldId, worldClaims);
+            }
+            claimSet = new ClaimSet(Collections.unmodifiableList(list), byWorld);
+            return true;
         }
     }
 
     public boolean hasClaim(String world, int chunkX, int chunkZ) {
-        synchronized (claims) {
-            return claims.stream().anyMatch(c -> c.getWorld().equals(world) && c.getChunkX() == chunkX && c.getChunkZ() == chunkZ);
-        }
+        return getClaim(world, chunkX, chunkZ) != null;
     }
 
     public void clearAllClaims() {
-        synchronized (claims) {
-            claims.clear();
+        synchronized (claimsLock) {
+            claimSet = ClaimSet.EMPTY;
         }
     }
 
@@ -100,6 +261,13 @@ public class PlayerClaims {
     public void addTrustedPlayer(UUID playerId, String playerName, TrustLevel level) {
         // Use compute() for atomic check-and-update to avoid race conditions
         trustedPlayers.compute(playerId, (id, existing) -> {
+            // Release the old name even if the new one is unknown, so it can't resolve to this player
+            if (existing != null && existing.getName() != null) {
+                trustedByName.remove(existing.getName().toLowerCase(Locale.ROOT), id);
+            }
+            if (playerName != null) {
+                trustedByName.put(playerName.toLowerCase(Locale.ROOT), id);
+            }
             if (existing != null) {
                 existing.setName(playerName);
                 existing.setLevel(level);
@@ -123,6 +291,9 @@ public class PlayerClaims {
      */
     public String removeTrustedPlayer(UUID playerId) {
         TrustedPlayer removed = trustedPlayers.remove(playerId);
+        if (removed != null && removed.getName() != null) {
+            trustedByName.remove(removed.getName().toLowerCase(Locale.ROOT), playerId);
+        }
         return removed != null ? removed.getName() : null;
     }
 
@@ -171,12 +342,9 @@ public class PlayerClaims {
      * @return the UUID if found, null otherwise
      */
     public UUID getTrustedPlayerByName(String name) {
-        for (Map.Entry<UUID, TrustedPlayer> entry : trustedPlayers.entrySet()) {
-            if (entry.getValue().getName() != null && entry.getValue().getName().equalsIgnoreCase(name)) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        if (name == null) return null;
+        UUID playerId = trustedByName.get(name.toLowerCase(Locale.ROOT));
+        return playerId != null && trustedPlayers.containsKey(playerId) ? playerId : null;
     }
 
     // ===== ADMIN-GRANTED BONUS METHODS =====
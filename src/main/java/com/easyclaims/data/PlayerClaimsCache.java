@@ -0,0 +1,282 @@
+package com.easyclaims.data;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded cache of loaded PlayerClaims.
+ *
+ * Eviction is frequency-aware (sampled LFU with aging): every hit bumps the entry's
+ * counter, and each victim is the least frequently used of a small sample of entries
+ * taken round-robin, so an eviction costs O(sample) rather than a pass over the whole
+ * cache. Sampling halves the counters it visits, so players who were busy long ago
+ * drift out. Ties are broken by least recent access. Entries that are pinned (unsaved
+ * changes) or were touched in the last few seconds are never evicted; evicted players
+ * are simply reloaded from disk on their next access.
+ *
+ * Loads run outside any map lock. Concurrent misses for one player share a single
+ * load, and a player being evicted is held back from loading until the eviction is done.
+ */
+public class PlayerClaimsCache {
+    private static final long RECENT_ACCESS_GRACE_MS = 5000;
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final int maximumSize;
+    private final int evictionSlack;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>(); // In-flight loads and evictions
+    private final Predicate<UUID> pinned;
+    private final EvictionListener evictionListener;
+    private final BiConsumer<UUID, PlayerClaims> loadListener;
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+    private Iterator<Map.Entry<UUID, Entry>> sampleCursor; // Guarded by evicting
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Called when an entry leaves the cache.
+     */
+    public interface EvictionListener {
+        void onEvict(UUID playerId, PlayerClaims claims);
+    }
+
+    private static final class Entry {
+        final PlayerClaims claims;
+        volatile int frequency = 1;
+        volatile long lastAccess;
+
+        Entry(PlayerClaims claims, long now) {
+            this.claims = claims;
+            this.lastAccess = now;
+        }
+    }
+
+    /**
+     * @param maximumSize number of players to keep loaded
+     * @param pinned entries matching this are never evicted (e.g. dirty players)
+     * @param evictionListener notified for each evicted entry
+     * @param loadListener notified for each entry {@link #get} loads into the cache
+     */
+    public PlayerClaimsCache(int maximumSize, Predicate<UUID> pinned, EvictionListener evictionListener,
+                             BiConsumer<UUID, PlayerClaims> loadListener) {
+        this.maximumSize = Math.max(1, maximumSize);
+        this.evictionSlack = Math.max(1, this.maximumSize / 16); // Evict in batches, not on every insert
+        this.pinned = pinned;
+        this.evictionListener = evictionListener;
+        this.loadListener = loadListener;
+    }
+
+    /**
+     * Gets a cached entry, loading it if absent. The loader runs on the calling thread
+     * without holding any lock.
+     */
+    public PlayerClaims get(UUID playerId, Function<UUID, PlayerClaims> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(playerId);
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            entry = load(playerId, loader, now);
+        }
+        entry.frequency++;
+        entry.lastAccess = now;
+
+        if (entries.size() > maximumSize + evictionSlack) {
+            evict();
+        }
+        return entry.claims;
+    }
+
+    private Entry load(UUID playerId, Function<UUID, PlayerClaims> loader, long now) {
+        while (true) {
+            Entry entry = entries.get(playerId);
+            if (entry != null) {
+                return entry;
+            }
+            CompletableFuture<Entry> mine = new CompletableFuture<>();
+            CompletableFuture<Entry> other = loading.putIfAbsent(playerId, mine);
+            if (other != null) {
+                // Another thread is loading or evicting this player - wait and look again
+                entry = other.join();
+                if (entry != null) {
+                    return entry;
+                }
+                continue;
+            }
+            try {
+                entry = entries.get(playerId);
+                if (entry == null) {
+                    entry = new Entry(loader.apply(playerId), now);
+                    entries.put(playerId, entry);
+                    loadListener.accept(playerId, entry.claims);
+                }
+                mine.complete(entry);
+                return entry;
+            } catch (RuntimeException | Error e) {
+                mine.complete(null); // Let waiters retry the load themselves
+                throw e;
+            } finally {
+                loading.remove(playerId, mine);
+            }
+        }
+    }
+
+    /**
+     * Gets a cached entry without loading it. A hit counts like {@link #get}; a miss
+     * is not counted here because the caller is expected to schedule the load.
+     */
+    public PlayerClaims getIfLoaded(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        if (entry == null) {
+            return null;
+        }
+        hits.increment();
+        entry.frequency++;
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.claims;
+    }
+
+    /**
+     * Gets a cached entry without loading it or counting a hit/miss.
+     */
+    public PlayerClaims getIfPresent(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        return entry != null ? entry.claims : null;
+    }
+
+    /**
+     * Adds an already loaded entry (cache warming). Does not trigger eviction.
+     * @return true if the entry was added, false if the player was already cached
+     */
+    public boolean putIfAbsent(UUID playerId, PlayerClaims claims) {
+        return entries.putIfAbsent(playerId, new Entry(claims, System.currentTimeMillis())) == null;
+    }
+
+    public boolean contains(UUID playerId) {
+        return entries.containsKey(playerId);
+    }
+
+    public Iterable<UUID> keys() {
+        return entries.keySet();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Evicts sampled least frequently used entries until the cache is back at its
+     * maximum size, or until a full turn over the cache finds nothing evictable.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return; // Another thread is already evicting
+        }
+        try {
+            long cutoff = System.currentTimeMillis() - RECENT_ACCESS_GRACE_MS;
+            int excess = entries.size() - maximumSize;
+            int budget = entries.size(); // Entries we may look at before giving up
+            while (excess > 0 && budget > 0) {
+                Map.Entry<UUID, Entry> victim = null;
+                for (int i = 0; i < EVICTION_SAMPLE && budget > 0; i++, budget--) {
+                    Map.Entry<UUID, Entry> candidate = nextSample();
+                    if (candidate == null) {
+                        budget = 0; // Emptied meanwhile
+                        break;
+                    }
+                    Entry entry = candidate.getValue();
+                    entry.frequency = entry.frequency >>> 1; // Age the counters we pass
+                    if (entry.lastAccess >= cutoff || pinned.test(candidate.getKey())) continue;
+                    if (victim == null || entry.frequency < victim.getValue().frequency
+                            || (entry.frequency == victim.getValue().frequency
+                                && entry.lastAccess < victim.getValue().lastAccess)) {
+                        victim = candidate;
+                    }
+                }
+                if (victim != null && remove(victim.getKey(), victim.getValue())) {
+                    excess--;
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Gets the next entry of the round-robin sample, wrapping around at the end.
+     */
+    private Map.Entry<UUID, Entry> nextSample() {
+        if (sampleCursor == null || !sampleCursor.hasNext()) {
+            sampleCursor = entries.entrySet().iterator();
+            if (!sampleCursor.hasNext()) {
+                return null;
+            }
+        }
+        return sampleCursor.next();
+    }
+
+    /**
+     * Removes one entry unless it is pinned. Loads of the player wait until this is done,
+     * and an entry pinned while it was being removed is put back, since a writer may
+     * already hold it.
+     * @return true if the entry was evicted
+     */
+    private boolean remove(UUID playerId, Entry entry) {
+        CompletableFuture<Entry> guard = new CompletableFuture<>();
+        if (loading.putIfAbsent(playerId, guard) != null) {
+            return false; // Being loaded right now
+        }
+        try {
+            if (pinned.test(playerId) || !entries.remove(playerId, entry)) {
+                return false;
+            }
+            if (pinned.test(playerId) && entries.putIfAbsent(playerId, entry) == null) {
+                return false;
+            }
+            evictionListener.onEvict(playerId, entry.claims);
+            evictions.increment();
+            return true;
+        } finally {
+            guard.complete(null);
+            loading.remove(playerId, guard);
+        }
+    }
+
+    // ===== STATISTICS =====
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the fraction of lookups served from the cache (1.0 if there were none).
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+}
@@ -0,0 +1,78 @@
+package com.easyclaims.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Case-insensitive username -> UUID index.
+ *
+ * Exact lookups are a single hash probe; prefix lookups (tab completion) walk only the
+ * matching range of a sorted map. A name belongs to the player who most recently used
+ * it: when a player is renamed their old name is released, and when another player
+ * takes over a name the previous holder loses it.
+ */
+public class PlayerNameIndex {
+    private final Map<String, UUID> byName = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, UUID> sortedNames = new ConcurrentSkipListMap<>();
+    private final Map<UUID, String> keyOf = new ConcurrentHashMap<>(); // player -> their current key
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Records a player's current name, replacing any previous name of theirs.
+     */
+    public synchronized void put(UUID playerId, String name) {
+        String key = key(name);
+        String oldKey = keyOf.put(playerId, key);
+        if (oldKey != null && !oldKey.equals(key)) {
+            byName.remove(oldKey, playerId);
+            sortedNames.remove(oldKey, playerId);
+        }
+        UUID previousHolder = byName.put(key, playerId);
+        sortedNames.put(key, playerId);
+        if (previousHolder != null && !previousHolder.equals(playerId)) {
+            keyOf.remove(previousHolder, key); // Name collision - the latest player keeps it
+        }
+    }
+
+    /**
+     * Gets the player currently using a name (case-insensitive), or null.
+     */
+    public UUID get(String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+        return byName.get(key(name));
+    }
+
+    /**
+     * Gets up to {@code limit} players whose name starts with a prefix (case-insensitive),
+     * in alphabetical order.
+     */
+    public List<UUID> findByPrefix(String prefix, int limit) {
+        if (prefix == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String from = key(prefix);
+        List<UUID> result = new ArrayList<>(Math.min(limit, 16));
+        for (Map.Entry<String, UUID> entry : sortedNames.tailMap(from).entrySet()) {
+            if (!entry.getKey().startsWith(from) || result.size() >= limit) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    public int size() {
+        return byName.size();
+    }
+}
@@ -9,6 +9,7 @@ public class PlaytimeData {
     private final UUID playerId;
     private long totalPlaytimeSeconds;
     private long sessionStartTime;
+    private long lastSeen; // Millis, 0 if unknown
 
     public PlaytimeData(UUID playerId) {
         this.playerId = playerId;
@@ -17,9 +18,14 @@ public class PlaytimeData {
     }
 
     public PlaytimeData(UUID playerId, long totalPlaytimeSeconds) {
+        this(playerId, totalPlaytimeSeconds, 0);
+    }
+
+    public PlaytimeData(UUID playerId, long totalPlaytimeSeconds, long lastSeen) {
         this.playerId = playerId;
         this.totalPlaytimeSeconds = totalPlaytimeSeconds;
         this.sessionStartTime = 0;
+        this.lastSeen = lastSeen;
     }
 
     public UUID getPlayerId() {
@@ -40,6 +46,7 @@ public class PlaytimeData {
 
     public void startSession() {
         this.sessionStartTime = System.currentTimeMillis();
+        this.lastSeen = sessionStartTime;
     }
 
     public void endSession() {
@@ -47,6 +54,7 @@ public class PlaytimeData {
             long sessionSeconds = (System.currentTimeMillis() - sessionStartTime) / 1000;
             totalPlaytimeSeconds += sessionSeconds;
             sessionStartTime = 0;
+            lastSeen = System.currentTimeMillis();
         }
     }
 
@@ -54,6 +62,13 @@ public class PlaytimeData {
         return sessionStartTime;
     }
 
+    /**
+     * Gets when the player was last online (now, while in session), or 0 if unknown.
+     */
+    public long getLastSeen() {
+        return sessionStartTime > 0 ? System.currentTimeMillis() : lastSeen;
+    }
+
     public boolean isInSession() {
         return sessionStartTime > 0;
     }
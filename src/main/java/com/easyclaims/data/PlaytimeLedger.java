@@ -0,0 +1,142 @@
+package com.easyclaims.data;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Memory-mapped file holding the playtime of every player as fixed-size records.
+ *
+ * Layout: a 16-byte header (magic, version, record count) followed by 32-byte records
+ * (UUID most/least significant bits, total seconds, last seen millis). Each player
+ * keeps the slot they were first given, so an update is an in-place write of one record;
+ * {@link #force} makes the writes durable in a single call.
+ */
+public class PlaytimeLedger {
+    private static final int MAGIC = 0x45435054; // "ECPT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 32;
+    private static final int INITIAL_CAPACITY = 1024; // Records
+
+    private final FileChannel channel;
+    private final Object2IntOpenHashMap<UUID> slots = new Object2IntOpenHashMap<>();
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int count;
+
+    public PlaytimeLedger(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.slots.defaultReturnValue(-1);
+
+        long fileSize = channel.size();
+        if (fileSize < HEADER_SIZE) {
+            map(INITIAL_CAPACITY);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, 0);
+            return;
+        }
+
+        map((int) Math.max(INITIAL_CAPACITY, (fileSize - HEADER_SIZE) / RECORD_SIZE));
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Not a playtime ledger: " + file);
+        }
+        // Never trust the count beyond what the file actually holds
+        count = Math.min(buffer.getInt(8), (int) ((fileSize - HEADER_SIZE) / RECORD_SIZE));
+        for (int slot = 0; slot < count; slot++) {
+            int offset = offset(slot);
+            slots.put(new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)), slot);
+        }
+    }
+
+    /**
+     * Maps the file at a new capacity. The old mapping is forced first, since {@link #force}
+     * only covers the current one, and then dropped so it can be unmapped.
+     */
+    private void map(int newCapacity) throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newCapacity * RECORD_SIZE);
+        capacity = newCapacity;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    public synchronized boolean contains(UUID playerId) {
+        return slots.containsKey(playerId);
+    }
+
+    /**
+     * Gets a player's stored total playtime, or 0 if they have no record.
+     */
+    public synchronized long getTotalSeconds(UUID playerId) {
+        int slot = slots.getInt(playerId);
+        return slot < 0 ? 0 : buffer.getLong(offset(slot) + 16);
+    }
+
+    /**
+     * Gets when a player's record was last updated while they were online, or 0 if unknown.
+     */
+    public synchronized long getLastSeen(UUID playerId) {
+        int slot = slots.getInt(playerId);
+        return slot < 0 ? 0 : buffer.getLong(offset(slot) + 24);
+    }
+
+    /**
+     * Writes a player's record, in place if they already have a slot.
+     * Not durable until the next {@link #force}.
+     */
+    public synchronized void write(UUID playerId, long totalSeconds, long lastSeen) throws IOException {
+        int slot = slots.getInt(playerId);
+        if (slot < 0) {
+            if (count == capacity) {
+                map(capacity * 2);
+            }
+            slot = count;
+            int offset = offset(slot);
+            buffer.putLong(offset, playerId.getMostSignificantBits());
+            buffer.putLong(offset + 8, playerId.getLeastSignificantBits());
+            buffer.putLong(offset + 16, totalSeconds);
+            buffer.putLong(offset + 24, lastSeen);
+            // Publish the record only after it is complete
+            count++;
+            buffer.putInt(8, count);
+            slots.put(playerId, slot);
+            return;
+        }
+        int offset = offset(slot);
+        buffer.putLong(offset + 16, totalSeconds);
+        buffer.putLong(offset + 24, lastSeen);
+    }
+
+    /**
+     * Flushes all written records to disk.
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public synchronized void close() {
+        force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -1,88 +1,155 @@
 package com.easyclaims.data;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
- * Manages persistent storage of player playtime using JSON files.
+ * Manages persistent storage of player playtime in a single {@link PlaytimeLedger}
+ * (playtime/playtime.dat). Saving a player overwrites their record in place.
  */
 public class PlaytimeStorage {
     private final Path playtimeDirectory;
-    private final Gson gson;
+    private final PlaytimeLedger ledger; // null if the ledger could not be opened
     private final Map<UUID, PlaytimeData> cache;
 
     public PlaytimeStorage(Path dataDirectory) {
         this.playtimeDirectory = dataDirectory.resolve("playtime");
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
         this.cache = new ConcurrentHashMap<>();
 
+        PlaytimeLedger opened = null;
         try {
             Files.createDirectories(playtimeDirectory);
+            opened = new PlaytimeLedger(playtimeDirectory.resolve("playtime.dat"));
         } catch (IOException e) {
+            System.out.println("[EasyClaims] Failed to open playtime ledger, playtime will not be saved: " + e.getMessage());
             e.printStackTrace();
         }
-    }
+        this.ledger = opened;
 
-    public PlaytimeData getPlaytime(UUID playerId) {
-        return cache.computeIfAbsent(playerId, this::loadPlaytime);
+        if (ledger != null) {
+            migrateJsonFiles();
+        }
     }
 
-    private PlaytimeData loadPlaytime(UUID playerId) {
-        Path file = playtimeDirectory.resolve(playerId.toString() + ".json");
+    /**
+     * Moves per-player playtime files from older versions into the ledger. The files are
+     * moved to playtime/legacy once their records are on disk.
+     */
+    private void migrateJsonFiles() {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(playtimeDirectory)) {
+            listing.filter(f -> f.getFileName().toString().endsWith(".json")).forEach(files::add);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        if (files.isEmpty()) {
+            return;
+        }
 
-        if (Files.exists(file)) {
+        List<Path> migrated = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
             try {
-                String json = Files.readString(file);
-                PlaytimeJson data = gson.fromJson(json, PlaytimeJson.class);
-
-                if (data != null) {
-                    return new PlaytimeData(playerId, data.totalPlaytimeSeconds);
+                UUID playerId = UUID.fromString(name.substring(0, name.length() - ".json".length()));
+                if (!ledger.contains(playerId)) {
+                    ledger.write(playerId, ClaimJsonCodec.readPlaytime(file), 0);
                 }
-            } catch (IOException e) {
-                e.printStackTrace();
+                migrated.add(file);
+            } catch (IllegalArgumentException e) {
+                // Not a player file
+            } catch (IOException | RuntimeException e) {
+                System.out.println("[EasyClaims] Failed to migrate playtime file " + name + ": " + e.getMessage());
             }
         }
+        ledger.force();
 
-        return new PlaytimeData(playerId);
+        try {
+            Path legacyDirectory = playtimeDirectory.resolve("legacy");
+            Files.createDirectories(legacyDirectory);
+            for (Path file : migrated) {
+                Files.move(file, legacyDirectory.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        System.out.println("[EasyClaims] Migrated " + migrated.size() + " playtime files to the playtime ledger");
     }
 
-    public void savePlaytime(UUID playerId) {
-        PlaytimeData data = cache.get(playerId);
-        if (data == null) return;
+    public PlaytimeData getPlaytime(UUID playerId) {
+        return cache.computeIfAbsent(playerId, this::loadPlaytime);
+    }
 
-        Path file = playtimeDirectory.resolve(playerId.toString() + ".json");
+    private PlaytimeData loadPlaytime(UUID playerId) {
+        if (ledger == null || !ledger.contains(playerId)) {
+            return new PlaytimeData(playerId);
+        }
+        return new PlaytimeData(playerId, ledger.getTotalSeconds(playerId), ledger.getLastSeen(playerId));
+    }
 
-        PlaytimeJson json = new PlaytimeJson();
-        json.totalPlaytimeSeconds = data.getTotalPlaytimeSeconds();
+    /**
+     * Writes a player's record, including their current session so far. Becomes
+     * durable on the next {@link #flush}.
+     */
+    public void savePlaytime(UUID playerId) {
+        PlaytimeData data = cache.get(playerId);
+        if (data == null || ledger == null) return;
 
         try {
-            Files.writeString(file, gson.toJson(json));
+            ledger.write(playerId, data.getTotalWithCurrentSession(), data.getLastSeen());
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Drops a player's cached data, unless it was replaced in the meantime. Save it first;
+     * it is reloaded from the ledger on next access.
+     */
+    public void unload(UUID playerId, PlaytimeData data) {
+        cache.remove(playerId, data);
+    }
+
+    /**
+     * Forces all saved records to disk.
+     */
+    public void flush() {
+        if (ledger != null) {
+            ledger.force();
+        }
+    }
+
     public void saveAll() {
         for (UUID playerId : cache.keySet()) {
             savePlaytime(playerId);
         }
+        flush();
     }
 
     /**
-     * Get all currently cached playtime data (for updating online players).
+     * Writes every cached record and closes the ledger, which forces it to disk once.
      */
-    public Map<UUID, PlaytimeData> getCache() {
-        return cache;
+    public void close() {
+        for (UUID playerId : cache.keySet()) {
+            savePlaytime(playerId);
+        }
+        if (ledger != null) {
+            ledger.close();
+        }
     }
 
-    private static class PlaytimeJson {
-        long totalPlaytimeSeconds;
+    /**
+     * Get all currently cached playtime data.
+     */
+    public Map<UUID, PlaytimeData> getCache() {
+        return cache;
     }
 }
@@ -0,0 +1,475 @@
+package com.easyclaims.data;
+
+import com.easyclaims.util.ChunkUtil;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Embedded SQLite backend (claims/claims.db).
+ *
+ * Each claim, trust entry and bonus record is a row, so a mutation only touches the
+ * rows it changes. Queued mutations are applied in one transaction per flush (group
+ * commit); with write-ahead logging this is a single fsync. The chunk index is read
+ * straight from the claims table, so there are no separate index files.
+ *
+ * Statements are prepared once and kept for the life of the connection. A checkpoint
+ * only folds the write-ahead log back into the database once it has grown.
+ */
+public class SqliteClaimBackend implements ClaimBackend {
+    private static final String DRIVER = "org.sqlite.JDBC";
+    private static final long WAL_CHECKPOINT_BYTES = 4L * 1024 * 1024; // Checkpoint once the WAL is this big
+    private static final int MAX_FLUSH_ATTEMPTS = 3; // Failed batch commits before going one mutation at a time
+
+    private final Connection connection;
+    private final Path walFile;
+    private final Map<String, PreparedStatement> statements = new HashMap<>(); // SQL -> statement, guarded by this
+    private final Queue<ClaimMutation> pending = new ConcurrentLinkedQueue<>();
+    private final List<ClaimMutation> unflushed = new ArrayList<>(); // Batch to retry after a failed commit
+    private int failedFlushes = 0;
+    private final Set<UUID> rewriteOwners = ConcurrentHashMap.newKeySet(); // Owners with a dropped mutation
+
+    /**
+     * Opens (or creates) the database file.
+     * @throws IOException if the driver is missing or the database cannot be opened
+     */
+    public SqliteClaimBackend(Path databaseFile) throws IOException {
+        try {
+            Class.forName(DRIVER);
+            Files.createDirectories(databaseFile.getParent());
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.toAbsolutePath());
+            this.walFile = databaseFile.resolveSibling(databaseFile.getFileName() + "-wal");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("CREATE TABLE IF NOT EXISTS claims ("
+                        + "world TEXT NOT NULL, chunk_x INTEGER NOT NULL, chunk_z INTEGER NOT NULL, "
+                        + "owner TEXT NOT NULL, claimed_at INTEGER NOT NULL, pvp INTEGER NOT NULL, "
+                        + "admin INTEGER NOT NULL, display_name TEXT, "
+                        + "PRIMARY KEY (world, chunk_x, chunk_z))");
+                statement.execute("CREATE INDEX IF NOT EXISTS claims_owner ON claims (owner)");
+                statement.execute("CREATE TABLE IF NOT EXISTS trusted ("
+                        + "owner TEXT NOT NULL, player TEXT NOT NULL, name TEXT, level TEXT NOT NULL, "
+                        + "PRIMARY KEY (owner, player))");
+                statement.execute("CREATE TABLE IF NOT EXISTS owners ("
+                        + "owner TEXT PRIMARY KEY, bonus_slots INTEGER NOT NULL, "
+                        + "bonus_max INTEGER NOT NULL, unlimited INTEGER NOT NULL)");
+                statement.execute("CREATE TABLE IF NOT EXISTS names (player TEXT PRIMARY KEY, name TEXT NOT NULL)");
+            }
+            connection.setAutoCommit(false);
+            connection.commit();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("SQLite JDBC driver not found", e);
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    @Override
+    public synchronized boolean isEmpty() throws IOException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM claims) "
+                     + "OR EXISTS (SELECT 1 FROM trusted) OR EXISTS (SELECT 1 FROM owners)")) {
+            return !rs.next() || rs.getInt(1) == 0;
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            endRead();
+        }
+    }
+
+    // ===== LOADING =====
+
+    @Override
+    public synchronized boolean scanIndex(BiConsumer<String, Long2ObjectMap<UUID>> sink) throws IOException {
+        Map<String, Long2ObjectOpenHashMap<UUID>> worlds = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT world, chunk_x, chunk_z, owner FROM claims")) {
+            while (rs.next()) {
+                UUID owner = parseUuid(rs.getString(4));
+                if (owner == null) continue;
+                worlds.computeIfAbsent(rs.getString(1), w -> new Long2ObjectOpenHashMap<>())
+                        .put(ChunkUtil.chunkIndex(rs.getInt(2), rs.getInt(3)), owner);
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            endRead();
+        }
+        worlds.forEach(sink);
+        return false;
+    }
+
+    @Override
+    public void finishIndexImport() {
+        // The index is always derived from the claims table
+    }
+
+    @Override
+    public synchronized PlayerClaims loadOwner(UUID owner) throws IOException {
+        String id = owner.toString();
+        PlayerClaims claims = new PlayerClaims(owner);
+        boolean found = false;
+        try {
+            List<Claim> loaded = new ArrayList<>();
+            try (ResultSet rs = query("SELECT world, chunk_x, chunk_z, claimed_at, pvp, admin, display_name "
+                    + "FROM claims WHERE owner = ?", id)) {
+                while (rs.next()) {
+                    loaded.add(new Claim(rs.getString(1), rs.getInt(2), rs.getInt(3), rs.getLong(4),
+                            rs.getInt(5) != 0, rs.getInt(6) != 0, rs.getString(7)));
+                }
+            }
+            found = !loaded.isEmpty();
+            claims.addClaims(loaded);
+            try (ResultSet rs = query("SELECT player, name, level FROM trusted WHERE owner = ?", id)) {
+                while (rs.next()) {
+                    UUID player = parseUuid(rs.getString(1));
+                    if (player == null) continue;
+                    found = true;
+                    String name = rs.getString(2);
+                    TrustLevel level = TrustLevel.fromString(rs.getString(3));
+                    claims.addTrustedPlayer(player, name != null ? name : player.toString(),
+                            level != null ? level : TrustLevel.BUILD);
+                }
+            }
+            try (ResultSet rs = query("SELECT bonus_slots, bonus_max, unlimited FROM owners WHERE owner = ?", id)) {
+                if (rs.next()) {
+                    found = true;
+                    claims.setBonusClaimSlots(rs.getInt(1));
+                    claims.setBonusMaxClaims(rs.getInt(2));
+                    claims.setUnlimitedClaims(rs.getInt(3) != 0);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            endRead();
+        }
+        return found ? claims : null;
+    }
+
+    /**
+     * Loads share the one connection, so parallel loads would only queue up behind it.
+     */
+    @Override
+    public boolean supportsConcurrentLoads() {
+        return false;
+    }
+
+    @Override
+    public synchronized List<UUID> listOwners() throws IOException {
+        List<UUID> owners = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT owner FROM claims UNION SELECT owner FROM trusted "
+                     + "UNION SELECT owner FROM owners")) {
+            while (rs.next()) {
+                UUID owner = parseUuid(rs.getString(1));
+                if (owner != null) {
+                    owners.add(owner);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            endRead();
+        }
+        return owners;
+    }
+
+    @Override
+    public synchronized Map<UUID, String> loadNames() throws IOException {
+        Map<UUID, String> names = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT player, name FROM names")) {
+            while (rs.next()) {
+                UUID player = parseUuid(rs.getString(1));
+                if (player != null) {
+                    names.put(player, rs.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            endRead();
+        }
+        return names;
+    }
+
+    @Override
+    public synchronized void saveNames(Map<UUID, String> names) throws IOException {
+        try {
+            PreparedStatement ps = statement("INSERT OR REPLACE INTO names (player, name) VALUES (?, ?)");
+            for (Map.Entry<UUID, String> entry : names.entrySet()) {
+                ps.setString(1, entry.getKey().toString());
+                ps.setString(2, entry.getValue());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    // ===== MUTATIONS =====
+
+    @Override
+    public void append(ClaimMutation mutation) {
+        pending.add(mutation);
+    }
+
+    /**
+     * Applies all queued mutations in a single transaction. A failed batch is kept and
+     * retried on the next flush; after {@link #MAX_FLUSH_ATTEMPTS} failures it is applied
+     * one mutation at a time instead, so one bad mutation can't block every later write.
+     */
+    @Override
+    public synchronized boolean flush() {
+        ClaimMutation mutation;
+        while ((mutation = pending.poll()) != null) {
+            unflushed.add(mutation);
+        }
+        if (unflushed.isEmpty()) {
+            return true;
+        }
+
+        try {
+            for (ClaimMutation m : unflushed) {
+                applyMutation(m);
+            }
+            connection.commit();
+            unflushed.clear();
+            failedFlushes = 0;
+            return true;
+        } catch (SQLException e) {
+            rollback();
+            failedFlushes++;
+            System.out.println("[EasyClaims] Failed to write " + unflushed.size() + " claim changes (attempt "
+                    + failedFlushes + "): " + e.getMessage());
+            return failedFlushes >= MAX_FLUSH_ATTEMPTS && flushIndividually();
+        }
+    }
+
+    /**
+     * Applies the failing batch one mutation per transaction and drops the ones that
+     * still fail. Their owners are reported by {@link #needsOwnerWrite}, so the next
+     * save writes them in full from memory instead.
+     * @return true if every mutation was applied
+     */
+    private boolean flushIndividually() {
+        boolean allApplied = true;
+        for (ClaimMutation m : unflushed) {
+            try {
+                applyMutation(m);
+                connection.commit();
+            } catch (SQLException e) {
+                rollback();
+                allApplied = false;
+                rewriteOwners.add(m.owner);
+                System.out.println("[EasyClaims] Dropped claim change " + m.type + " of " + m.owner
+                        + " after " + MAX_FLUSH_ATTEMPTS + " failed attempts: " + e.getMessage());
+            }
+        }
+        unflushed.clear();
+        failedFlushes = 0;
+        return allApplied;
+    }
+
+    private void applyMutation(ClaimMutation m) throws SQLException {
+        String owner = m.owner.toString();
+        switch (m.type) {
+            case CLAIM -> insertClaim(owner, m.toClaim());
+            case UNCLAIM -> update("DELETE FROM claims WHERE world = ? AND chunk_x = ? AND chunk_z = ? AND owner = ?",
+                    m.world, m.chunkX, m.chunkZ, owner);
+            case UNCLAIM_ALL -> update("DELETE FROM claims WHERE owner = ?", owner);
+            case TRUST -> update("INSERT OR REPLACE INTO trusted (owner, player, name, level) VALUES (?, ?, ?, ?)",
+                    owner, m.player.toString(), m.playerName, m.level.name());
+            case UNTRUST -> update("DELETE FROM trusted WHERE owner = ? AND player = ?", owner, m.player.toString());
+            case BONUS -> update("INSERT OR REPLACE INTO owners (owner, bonus_slots, bonus_max, unlimited) VALUES (?, ?, ?, ?)",
+                    owner, m.bonusClaimSlots, m.bonusMaxClaims, m.unlimitedClaims ? 1 : 0);
+            case PVP -> update("UPDATE claims SET pvp = ? WHERE world = ? AND chunk_x = ? AND chunk_z = ? AND owner = ?",
+                    m.pvpEnabled ? 1 : 0, m.world, m.chunkX, m.chunkZ, owner);
+        }
+    }
+
+    @Override
+    public int replay(Consumer<ClaimMutation> consumer) {
+        return 0; // Every committed mutation is already in the tables
+    }
+
+    // ===== CHECKPOINTS =====
+
+    /**
+     * Rows are updated in place, so a checkpoint only has to fold the write-ahead log
+     * back into the database. Take one once the log has grown.
+     */
+    @Override
+    public boolean needsCheckpoint() {
+        try {
+            return Files.exists(walFile) && Files.size(walFile) >= WAL_CHECKPOINT_BYTES;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void beginCheckpoint() {
+        flush();
+    }
+
+    /**
+     * Flushed mutations are already in the tables, so an owner only needs a full write
+     * if one of their mutations had to be dropped.
+     */
+    @Override
+    public boolean needsOwnerWrite(UUID owner) {
+        return rewriteOwners.contains(owner);
+    }
+
+    /**
+     * Replaces all rows of one owner in a single transaction.
+     */
+    @Override
+    public synchronized boolean writeOwner(UUID owner, PlayerClaims claims) {
+        String id = owner.toString();
+        try {
+            update("DELETE FROM claims WHERE owner = ?", id);
+            update("DELETE FROM trusted WHERE owner = ?", id);
+            for (Claim claim : claims.getClaims()) {
+                insertClaim(id, claim);
+            }
+            for (TrustedPlayer trusted : claims.getTrustedPlayersMap().values()) {
+                update("INSERT OR REPLACE INTO trusted (owner, player, name, level) VALUES (?, ?, ?, ?)",
+                        id, trusted.getUuid().toString(), trusted.getName(), trusted.getLevel().name());
+            }
+            update("INSERT OR REPLACE INTO owners (owner, bonus_slots, bonus_max, unlimited) VALUES (?, ?, ?, ?)",
+                    id, claims.getBonusClaimSlots(), claims.getBonusMaxClaims(), claims.hasUnlimitedClaims() ? 1 : 0);
+            connection.commit();
+            rewriteOwners.remove(owner);
+            return true;
+        } catch (SQLException e) {
+            rollback();
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean writeIndexRegions(List<IndexRegion> regions) {
+        return true; // The index is derived from the claims table
+    }
+
+    @Override
+    public synchronized void finishCheckpoint(boolean complete) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+        } catch (SQLException e) {
+            System.out.println("[EasyClaims] Failed to checkpoint the claim database: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        try {
+            for (PreparedStatement ps : statements.values()) {
+                ps.close();
+            }
+            statements.clear();
+            connection.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // ===== HELPERS =====
+
+    private void insertClaim(String owner, Claim claim) throws SQLException {
+        update("INSERT OR REPLACE INTO claims (world, chunk_x, chunk_z, owner, claimed_at, pvp, admin, display_name) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                claim.getWorld(), claim.getChunkX(), claim.getChunkZ(), owner, claim.getClaimedAt(),
+                claim.isPvpEnabled() ? 1 : 0, claim.isAdminClaim() ? 1 : 0, claim.getDisplayName());
+    }
+
+    private void update(String sql, Object... params) throws SQLException {
+        bind(sql, params).executeUpdate();
+    }
+
+    private ResultSet query(String sql, Object... params) throws SQLException {
+        return bind(sql, params).executeQuery();
+    }
+
+    private PreparedStatement bind(String sql, Object... params) throws SQLException {
+        PreparedStatement ps = statement(sql);
+        for (int i = 0; i < params.length; i++) {
+            ps.setObject(i + 1, params[i]);
+        }
+        return ps;
+    }
+
+    /**
+     * Gets the prepared statement for a query, preparing it on first use.
+     */
+    private PreparedStatement statement(String sql) throws SQLException {
+        PreparedStatement ps = statements.get(sql);
+        if (ps == null) {
+            ps = connection.prepareStatement(sql);
+            statements.put(sql, ps);
+        }
+        return ps;
+    }
+
+    /**
+     * Ends the read transaction a query opened. With auto-commit off it would otherwise
+     * stay open, keeping the write-ahead log from being checkpointed.
+     */
+    private void endRead() {
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return value != null ? UUID.fromString(value) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
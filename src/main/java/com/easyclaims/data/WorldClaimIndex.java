@@ -0,0 +1,668 @@
+package com.easyclaims.data;
+
+import com.easyclaims.util.ChunkUtil;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * Index of claimed chunks for a single world, keyed by packed chunk coordinates.
+ * Lookups do not allocate, so this is safe to hit from every protection event.
+ *
+ * Owners are stored as {@link OwnerRegistry} ids, so each claimed chunk costs a long key
+ * and an int rather than a UUID reference, and owner checks are int compares.
+ *
+ * Chunk owners are published as immutable, versioned {@link Snapshot}s. A snapshot keeps
+ * its 32x32-chunk regions in a fixed number of hash buckets; a write copies only the
+ * region it touches and that region's bucket, and swaps in a new snapshot, so a change
+ * costs the same in a world with ten claims as in one with a million. Batches (loading,
+ * removing all of a player's claims) copy each touched region once and publish once.
+ * Owner lookups never take a lock, and a flush or map render that holds one snapshot
+ * sees a single consistent state while writers carry on.
+ *
+ * The full Claim object is attached once the owner's PlayerClaims has been loaded, so
+ * getClaimAt is a single hash probe instead of a scan of the owner's claim list.
+ *
+ * Persistence is sharded by region; every owner change marks its region dirty so only
+ * touched regions are rewritten.
+ *
+ * Each snapshot also carries a {@link ClaimOccupancy} bitmap, so lookups in unclaimed
+ * chunks (most of them) are rejected with two bit tests before any map probe, and a
+ * "PvP disabled" bit per claimed chunk, derived from admin claim flags and the
+ * pvpInPlayerClaims setting, so PvP checks don't need the Claim object.
+ *
+ * The occupancy bitmap is the one part a snapshot shares with later ones. Its bits are
+ * only ever set, never cleared, until it is replaced by a rebuilt bitmap, and a set bit
+ * only means "look the chunk up". An older snapshot that sees a bit set for a later claim
+ * just probes its own maps and finds nothing, so its answers never change.
+ */
+public class WorldClaimIndex {
+    public static final int REGION_SHIFT = 5; // 32x32 chunks per region shard
+    public static final int REGION_SIZE = 1 << REGION_SHIFT;
+    private static final int BUCKETS = 256; // Region buckets per snapshot, copied one at a time
+    private static final int MIN_STALE_BEFORE_REBUILD = 64; // Unclaims before the occupancy bitmap is rebuilt
+    private static final int PVP_WORDS = REGION_SIZE * REGION_SIZE / 64; // One PvP bit per chunk of a region
+    private static final int ADMIN_OWNER_ID = OwnerRegistry.getId(AdminClaims.ADMIN_UUID);
+
+    private final String world;
+    private final int worldId;
+    private volatile Snapshot current = new Snapshot(0, newBuckets(), 0, new ClaimOccupancy());
+    private final Long2ObjectOpenHashMap<Claim> claims = new Long2ObjectOpenHashMap<>();
+    private final LongOpenHashSet dirtyRegions = new LongOpenHashSet();
+    private final StampedLock lock = new StampedLock(); // Serializes writers; guards claims and dirtyRegions
+    private int unclaimedSinceRebuild; // Chunks whose occupancy bit may be stale; guarded by lock
+    private boolean pvpInPlayerClaims = true; // Guarded by lock
+
+    /**
+     * The claimed chunks of one region: chunk -> owner id, and one PvP-disabled bit per
+     * chunk. Never modified once published.
+     */
+    private static final class Region {
+        final Long2IntOpenHashMap owners;
+        final long[] pvpDisabled;
+
+        Region() {
+            this.owners = new Long2IntOpenHashMap();
+            this.owners.defaultReturnValue(OwnerRegistry.NONE);
+            this.pvpDisabled = new long[PVP_WORDS];
+        }
+
+        Region(Region other) {
+            this.owners = new Long2IntOpenHashMap(other.owners);
+            this.owners.defaultReturnValue(OwnerRegistry.NONE);
+            this.pvpDisabled = other.pvpDisabled.clone();
+        }
+
+        boolean isPvpDisabled(long chunkIndex) {
+            int bit = pvpBit(chunkIndex);
+            return (pvpDisabled[bit >>> 6] & (1L << bit)) != 0;
+        }
+    }
+
+    /**
+     * An immutable point-in-time view of a world's chunk owners.
+     */
+    public static final class Snapshot {
+        public static final Snapshot EMPTY = new Snapshot(0, newBuckets(), 0, new ClaimOccupancy());
+
+        private final long version;
+        private final Long2ObjectOpenHashMap<Region>[] buckets; // Never modified once published; null if empty
+        private final int size;
+        private final ClaimOccupancy occupancy; // Shared with later snapshots until rebuilt, see class doc
+
+        private Snapshot(long version, Long2ObjectOpenHashMap<Region>[] buckets, int size, ClaimOccupancy occupancy) {
+            this.version = version;
+            this.buckets = buckets;
+            this.size = size;
+            this.occupancy = occupancy;
+        }
+
+        /**
+         * Increases by one with every change to the index.
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        private Region region(long regionKey) {
+            return WorldClaimIndex.region(buckets, regionKey);
+        }
+
+        private Stream<Long2ObjectOpenHashMap<Region>> buckets() {
+            return Arrays.stream(buckets).filter(Objects::nonNull);
+        }
+
+        /**
+         * Gets the owner id of a chunk, or {@link OwnerRegistry#NONE} if unclaimed.
+         */
+        public int getOwnerId(int chunkX, int chunkZ) {
+            if (!occupancy.mightBeClaimed(chunkX, chunkZ)) {
+                return OwnerRegistry.NONE;
+            }
+            Region region = region(regionKey(chunkX, chunkZ));
+            return region != null ? region.owners.get(ChunkUtil.chunkIndex(chunkX, chunkZ)) : OwnerRegistry.NONE;
+        }
+
+        /**
+         * Checks if a chunk may be claimed, without probing the index.
+         * @return false only if the chunk is definitely unclaimed
+         */
+        public boolean mightBeClaimed(int chunkX, int chunkZ) {
+            return occupancy.mightBeClaimed(chunkX, chunkZ);
+        }
+
+        /**
+         * Checks if PvP is disabled in a chunk: an admin claim with PvP off (or not loaded
+         * yet), or a player claim while pvpInPlayerClaims is off. Wilderness is never disabled.
+         */
+        public boolean isPvpDisabled(int chunkX, int chunkZ) {
+            if (!occupancy.mightBeClaimed(chunkX, chunkZ)) {
+                return false;
+            }
+            Region region = region(regionKey(chunkX, chunkZ));
+            return region != null && region.isPvpDisabled(ChunkUtil.chunkIndex(chunkX, chunkZ));
+        }
+
+        public int getOwnerId(long chunkIndex) {
+            return getOwnerId(ChunkUtil.chunkIndexX(chunkIndex), ChunkUtil.chunkIndexZ(chunkIndex));
+        }
+
+        public UUID getOwner(int chunkX, int chunkZ) {
+            return OwnerRegistry.getUuid(getOwnerId(chunkX, chunkZ));
+        }
+
+        public UUID getOwner(long chunkIndex) {
+            return OwnerRegistry.getUuid(getOwnerId(chunkIndex));
+        }
+
+        /**
+         * Copies the chunk -> owner entries of one region (empty if it has no claims).
+         */
+        public Long2ObjectMap<UUID> getRegion(long regionKey) {
+            Region region = region(regionKey);
+            Long2ObjectOpenHashMap<UUID> owners = new Long2ObjectOpenHashMap<>(region != null ? region.owners.size() : 0);
+            if (region != null) {
+                for (Long2IntMap.Entry entry : region.owners.long2IntEntrySet()) {
+                    owners.put(entry.getLongKey(), OwnerRegistry.getUuid(entry.getIntValue()));
+                }
+            }
+            return owners;
+        }
+
+        /**
+         * Iterates every chunk -> owner id entry in this snapshot.
+         */
+        public Iterable<Long2IntMap.Entry> entries() {
+            return () -> buckets()
+                    .flatMap(bucket -> bucket.values().stream())
+                    .flatMap(region -> region.owners.long2IntEntrySet().stream())
+                    .iterator();
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    public WorldClaimIndex(String world) {
+        this.world = world;
+        this.worldId = WorldRegistry.getId(world);
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public int getWorldId() {
+        return worldId;
+    }
+
+    /**
+     * Gets the packed region key for the region containing a chunk.
+     */
+    public static long regionKey(int chunkX, int chunkZ) {
+        return ChunkUtil.chunkIndex(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+    }
+
+    private static long regionOf(long chunkIndex) {
+        return regionKey(ChunkUtil.chunkIndexX(chunkIndex), ChunkUtil.chunkIndexZ(chunkIndex));
+    }
+
+    private static int bucket(long regionKey) {
+        return (int) (HashCommon.mix(regionKey) & (BUCKETS - 1));
+    }
+
+    private static Region region(Long2ObjectOpenHashMap<Region>[] buckets, long regionKey) {
+        Long2ObjectOpenHashMap<Region> bucket = buckets[bucket(regionKey)];
+        return bucket != null ? bucket.get(regionKey) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long2ObjectOpenHashMap<Region>[] newBuckets() {
+        return new Long2ObjectOpenHashMap[BUCKETS];
+    }
+
+    /**
+     * Gets the current snapshot. Hold on to it for repeatable reads across many lookups.
+     */
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    /**
+     * Gets the owner id of a chunk, or {@link OwnerRegistry#NONE} if unclaimed.
+     */
+    public int getOwnerId(int chunkX, int chunkZ) {
+        return current.getOwnerId(chunkX, chunkZ);
+    }
+
+    /**
+     * Checks if PvP is disabled in a chunk, see {@link Snapshot#isPvpDisabled}.
+     */
+    public boolean isPvpDisabled(int chunkX, int chunkZ) {
+        return current.isPvpDisabled(chunkX, chunkZ);
+    }
+
+    /**
+     * Checks if a chunk may be claimed using only the occupancy bitmap.
+     * @return false only if the chunk is definitely unclaimed
+     */
+    public boolean mightBeClaimed(int chunkX, int chunkZ) {
+        return current.mightBeClaimed(chunkX, chunkZ);
+    }
+
+    /**
+     * Gets the owner of a chunk, or null if unclaimed.
+     */
+    public UUID getOwner(int chunkX, int chunkZ) {
+        return current.getOwner(chunkX, chunkZ);
+    }
+
+    /**
+     * Gets the owner of a packed chunk index, or null if unclaimed.
+     */
+    public UUID getOwner(long chunkIndex) {
+        return current.getOwner(chunkIndex);
+    }
+
+    /**
+     * Gets the claim at a chunk, or null if unclaimed or the owner's data is not loaded yet.
+     */
+    public Claim getClaim(int chunkX, int chunkZ) {
+        long chunkIndex = ChunkUtil.chunkIndex(chunkX, chunkZ);
+        long stamp = lock.readLock();
+        try {
+            return claims.get(chunkIndex);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Records an owner for a chunk whose Claim object is not loaded (imported index entries).
+     */
+    public void put(int chunkX, int chunkZ, UUID owner) {
+        long chunkIndex = ChunkUtil.chunkIndex(chunkX, chunkZ);
+        long stamp = lock.writeLock();
+        try {
+            int ownerId = OwnerRegistry.getId(owner);
+            int previous = current.getOwnerId(chunkIndex);
+            if (previous != OwnerRegistry.NONE && previous != ownerId) {
+                claims.remove(chunkIndex);
+            }
+            setOwner(chunkIndex, ownerId, claims.get(chunkIndex));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Records a claim and its owner.
+     */
+    public void put(UUID owner, Claim claim) {
+        long chunkIndex = ChunkUtil.chunkIndex(claim.getChunkX(), claim.getChunkZ());
+        long stamp = lock.writeLock();
+        try {
+            claims.put(chunkIndex, claim);
+            setOwner(chunkIndex, OwnerRegistry.getId(owner), claim);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Attaches a freshly loaded Claim object, but only if the index still agrees
+     * that the chunk belongs to this owner.
+     */
+    public void attach(UUID owner, Claim claim) {
+        long chunkIndex = ChunkUtil.chunkIndex(claim.getChunkX(), claim.getChunkZ());
+        long stamp = lock.writeLock();
+        try {
+            int ownerId = OwnerRegistry.findId(owner);
+            if (ownerId != OwnerRegistry.NONE && ownerId == current.getOwnerId(chunkIndex)) {
+                claims.put(chunkIndex, claim);
+                setPvpDisabled(chunkIndex, isPvpDisabled(ownerId, claim));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Drops a Claim object whose owner was evicted from the cache. The owner entry
+     * stays, so the claim is still known and reloads on next access.
+     */
+    public void detach(Claim claim) {
+        long chunkIndex = ChunkUtil.chunkIndex(claim.getChunkX(), claim.getChunkZ());
+        long stamp = lock.writeLock();
+        try {
+            claims.remove(chunkIndex, claim);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public UUID remove(int chunkX, int chunkZ) {
+        long chunkIndex = ChunkUtil.chunkIndex(chunkX, chunkZ);
+        long stamp = lock.writeLock();
+        try {
+            claims.remove(chunkIndex);
+            return OwnerRegistry.getUuid(setOwner(chunkIndex, OwnerRegistry.NONE, null));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes many chunks at once (e.g. all of a player's claims in this world),
+     * publishing a single new snapshot for the whole batch.
+     */
+    public void removeAll(LongCollection chunkIndexes) {
+        long stamp = lock.writeLock();
+        try {
+            Edit edit = new Edit();
+            LongIterator chunks = chunkIndexes.iterator();
+            while (chunks.hasNext()) {
+                long chunkIndex = chunks.nextLong();
+                claims.remove(chunkIndex);
+                if (edit.setOwner(chunkIndex, OwnerRegistry.NONE, null) != OwnerRegistry.NONE) {
+                    dirtyRegions.add(regionOf(chunkIndex));
+                }
+            }
+            edit.publish();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Re-derives a claim's PvP bit after its PvP flag changed, if the chunk still
+     * belongs to this owner.
+     */
+    public void refreshPvp(UUID owner, Claim claim) {
+        long chunkIndex = ChunkUtil.chunkIndex(claim.getChunkX(), claim.getChunkZ());
+        long stamp = lock.writeLock();
+        try {
+            int ownerId = OwnerRegistry.findId(owner);
+            if (ownerId != OwnerRegistry.NONE && ownerId == current.getOwnerId(chunkIndex)) {
+                setPvpDisabled(chunkIndex, isPvpDisabled(ownerId, claim));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets whether PvP is allowed in player claims and re-derives their PvP bits.
+     * Only regions whose bits change are copied.
+     */
+    public void setPvpInPlayerClaims(boolean enabled) {
+        long stamp = lock.writeLock();
+        try {
+            if (enabled == pvpInPlayerClaims) {
+                return;
+            }
+            pvpInPlayerClaims = enabled;
+
+            // Only player claims follow the setting; admin claims keep their bit, loaded or not
+            Edit edit = new Edit();
+            for (Long2IntMap.Entry entry : current.entries()) {
+                if (entry.getIntValue() == ADMIN_OWNER_ID) {
+                    continue;
+                }
+                long chunkIndex = entry.getLongKey();
+                Claim claim = claims.get(chunkIndex);
+                if (claim == null || !claim.isAdminClaim()) {
+                    edit.setPvp(chunkIndex, !enabled);
+                }
+            }
+            edit.publish();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Decides whether PvP is off in a claimed chunk. Must be called with the write lock held.
+     * @param claim the chunk's Claim, or null if its owner's data is not loaded
+     */
+    private boolean isPvpDisabled(int ownerId, Claim claim) {
+        boolean admin = claim != null ? claim.isAdminClaim() : ownerId == ADMIN_OWNER_ID;
+        if (admin) {
+            return claim == null || !claim.isPvpEnabled(); // Unknown until loaded - no PvP meanwhile
+        }
+        return !pvpInPlayerClaims;
+    }
+
+    /**
+     * Publishes a new snapshot if a chunk's PvP bit changes. Must be called with the write lock held.
+     */
+    private void setPvpDisabled(long chunkIndex, boolean disabled) {
+        Edit edit = new Edit();
+        edit.setPvp(chunkIndex, disabled);
+        edit.publish();
+    }
+
+    /**
+     * Applies one owner change and publishes a new snapshot. Must be called with the write lock held.
+     * @param ownerId the new owner id, or {@link OwnerRegistry#NONE} to remove the entry
+     * @param claim the chunk's Claim if loaded, used to derive its PvP bit
+     * @return the previous owner id
+     */
+    private int setOwner(long chunkIndex, int ownerId, Claim claim) {
+        Edit edit = new Edit();
+        int previous = edit.setOwner(chunkIndex, ownerId, claim);
+        if (previous != ownerId) {
+            dirtyRegions.add(regionOf(chunkIndex));
+        }
+        edit.publish();
+        return previous;
+    }
+
+    /**
+     * A copy-on-write change to the current snapshot. The first write to a bucket or a
+     * region copies it; everything else stays shared with the published snapshot.
+     * Must be used with the write lock held.
+     */
+    private final class Edit {
+        private final Snapshot base = current;
+        private Long2ObjectOpenHashMap<Region>[] buckets = base.buckets;
+        private boolean[] copiedBuckets; // Null until the first write
+        private final LongOpenHashSet copiedRegions = new LongOpenHashSet();
+        private int size = base.size;
+        private int unclaimed;
+
+        /**
+         * Sets or removes a chunk's owner and derives its PvP bit.
+         * @return the previous owner id
+         */
+        int setOwner(long chunkIndex, int ownerId, Claim claim) {
+            long regionKey = regionOf(chunkIndex);
+            Region region = region(buckets, regionKey);
+            int previous = region != null ? region.owners.get(chunkIndex) : OwnerRegistry.NONE;
+            if (ownerId != previous) {
+                region = writableRegion(regionKey);
+                if (ownerId != OwnerRegistry.NONE) {
+                    region.owners.put(chunkIndex, ownerId);
+                    // Set the bit before publishing, so any reader that sees the claim also sees its bit
+                    base.occupancy.add(chunkIndex);
+                } else {
+                    region.owners.remove(chunkIndex);
+                }
+                if (previous == OwnerRegistry.NONE) {
+                    size++;
+                } else if (ownerId == OwnerRegistry.NONE) {
+                    size--;
+                    unclaimed++;
+                }
+            }
+            setPvp(chunkIndex, ownerId != OwnerRegistry.NONE && isPvpDisabled(ownerId, claim));
+            return previous;
+        }
+
+        /**
+         * Sets or clears a chunk's PvP bit, copying its region only if the bit changes.
+         */
+        void setPvp(long chunkIndex, boolean disabled) {
+            long regionKey = regionOf(chunkIndex);
+            Region region = region(buckets, regionKey);
+            boolean set = region != null && region.isPvpDisabled(chunkIndex);
+            if (set == disabled) {
+                return;
+            }
+            int bit = pvpBit(chunkIndex);
+            long[] words = writableRegion(regionKey).pvpDisabled;
+            if (disabled) {
+                words[bit >>> 6] |= 1L << bit;
+            } else {
+                words[bit >>> 6] &= ~(1L << bit);
+            }
+        }
+
+        private Region writableRegion(long regionKey) {
+            if (copiedBuckets == null) {
+                buckets = buckets.clone();
+                copiedBuckets = new boolean[BUCKETS];
+            }
+            int index = bucket(regionKey);
+            Long2ObjectOpenHashMap<Region> bucket = buckets[index];
+            if (!copiedBuckets[index]) {
+                bucket = bucket != null ? new Long2ObjectOpenHashMap<>(bucket) : new Long2ObjectOpenHashMap<>();
+                buckets[index] = bucket;
+                copiedBuckets[index] = true;
+            }
+            Region region = bucket.get(regionKey);
+            if (copiedRegions.add(regionKey)) {
+                region = region != null ? new Region(region) : new Region();
+                bucket.put(regionKey, region);
+            }
+            return region;
+        }
+
+        /**
+         * Drops regions left empty and publishes the result, if anything changed.
+         */
+        void publish() {
+            if (copiedBuckets == null) {
+                return;
+            }
+            LongIterator regionKeys = copiedRegions.iterator();
+            while (regionKeys.hasNext()) {
+                long regionKey = regionKeys.nextLong();
+                int index = bucket(regionKey);
+                if (buckets[index].get(regionKey).owners.isEmpty()) {
+                    buckets[index].remove(regionKey);
+                    if (buckets[index].isEmpty()) {
+                        buckets[index] = null;
+                    }
+                }
+            }
+
+            ClaimOccupancy occupancy = base.occupancy;
+            boolean stale = unclaimed > 0
+                    && (unclaimedSinceRebuild += unclaimed) > Math.max(MIN_STALE_BEFORE_REBUILD, size / 4);
+            if (stale || !occupancy.fits(size)) {
+                occupancy = buildOccupancy(buckets, size);
+            }
+            current = new Snapshot(base.version + 1, buckets, size, occupancy);
+        }
+    }
+
+    /**
+     * Builds a bitmap sized for the current claims with exactly their bits set, dropping
+     * the stale bits left by unclaims. Must be called with the write lock held.
+     */
+    private ClaimOccupancy buildOccupancy(Long2ObjectOpenHashMap<Region>[] buckets, int size) {
+        ClaimOccupancy occupancy = new ClaimOccupancy(size);
+        for (Long2ObjectOpenHashMap<Region> bucket : buckets) {
+            if (bucket == null) continue;
+            for (Region region : bucket.values()) {
+                LongIterator chunks = region.owners.keySet().iterator();
+                while (chunks.hasNext()) {
+                    occupancy.add(chunks.nextLong());
+                }
+            }
+        }
+        unclaimedSinceRebuild = 0;
+        return occupancy;
+    }
+
+    private static int pvpBit(long chunkIndex) {
+        return ((ChunkUtil.chunkIndexX(chunkIndex) & (REGION_SIZE - 1)) << REGION_SHIFT)
+                | (ChunkUtil.chunkIndexZ(chunkIndex) & (REGION_SIZE - 1));
+    }
+
+    /**
+     * Merges loaded chunk -> owner entries into the index without marking regions dirty.
+     * Publishes a single new snapshot for the whole batch.
+     */
+    public void putAll(Long2ObjectMap<UUID> loaded) {
+        long stamp = lock.writeLock();
+        try {
+            Edit edit = new Edit();
+            for (Long2ObjectMap.Entry<UUID> entry : loaded.long2ObjectEntrySet()) {
+                long chunkIndex = entry.getLongKey();
+                int ownerId = OwnerRegistry.getId(entry.getValue());
+                Claim claim = current.getOwnerId(chunkIndex) == ownerId ? claims.get(chunkIndex) : null;
+                edit.setOwner(chunkIndex, ownerId, claim);
+            }
+            edit.publish();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the regions changed since the last call and clears their dirty flags.
+     * Read their contents from a {@link #snapshot} taken afterwards.
+     */
+    public long[] drainDirtyRegions() {
+        long stamp = lock.writeLock();
+        try {
+            long[] regions = dirtyRegions.toLongArray();
+            dirtyRegions.clear();
+            return regions;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Re-flags a region whose write failed so it is retried on the next flush.
+     */
+    public void markRegionDirty(long regionKey) {
+        long stamp = lock.writeLock();
+        try {
+            dirtyRegions.add(regionKey);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Flags every region that contains a claim (used to write a full snapshot).
+     */
+    public void markAllRegionsDirty() {
+        long stamp = lock.writeLock();
+        try {
+            current.buckets().forEach(bucket -> dirtyRegions.addAll(bucket.keySet()));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        return current.size();
+    }
+}
@@ -0,0 +1,63 @@
+package com.easyclaims.data;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns world names to small int ids so claims and indexes can compare and look up
+ * worlds without touching strings.
+ *
+ * Ids are assigned in order of first use (world load or stored data) and only live for
+ * this server run; files and commands keep using world names.
+ */
+public final class WorldRegistry {
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[0]; // id -> name
+
+    private WorldRegistry() {
+    }
+
+    /**
+     * Gets the id of a world, assigning the next free id if the name is new.
+     */
+    public static int getId(String worldName) {
+        Integer id = ids.get(worldName);
+        return id != null ? id : register(worldName);
+    }
+
+    private static synchronized int register(String worldName) {
+        Integer id = ids.get(worldName);
+        if (id != null) {
+            return id;
+        }
+        String[] current = names;
+        String[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = worldName;
+        names = grown; // Publish the name before the id can be looked up
+        ids.put(worldName, current.length);
+        return current.length;
+    }
+
+    /**
+     * Gets the id of a world without registering it.
+     * @return the id, or -1 if no claim or loaded world ever used this name
+     */
+    public static int findId(String worldName) {
+        if (worldName == null) return -1;
+        Integer id = ids.get(worldName);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the name of a world id, or null if the id was never assigned.
+     */
+    public static String getName(int worldId) {
+        String[] current = names;
+        return worldId >= 0 && worldId < current.length ? current[worldId] : null;
+    }
+
+    public static int size() {
+        return names.length;
+    }
+}
@@ -0,0 +1,241 @@
+package com.easyclaims.listeners;
+
+import com.easyclaims.data.WorldRegistry;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.UUID;
+
+/**
+ * Remembers which player recently interacted with which block, so ECS block events
+ * (which don't carry the player) can be matched back to an interaction.
+ *
+ * Interactions are keyed by their {@link WorldRegistry} world id and block position
+ * packed into a long, so a lookup is one hash probe and recording one allocates nothing
+ * but the interaction itself. Expiry runs on a time wheel: each slot holds the keys
+ * recorded during one {@link #SLOT_MS} window, and a slot is swept once its window is
+ * older than the timeout, so cleanup costs O(1) per recorded interaction instead of a
+ * scan of everything pending.
+ *
+ * The tracker is split into {@link #STRIPES} stripes by world and 16x16-block column,
+ * each with its own lock, map and wheel, so events in different parts of the world don't
+ * wait on each other. A stripe is swept when it is used.
+ */
+public class InteractionTracker {
+    private static final long SLOT_MS = 500;
+    private static final int STRIPES = 16;
+    private static final int CELL_SHIFT = 4; // 16x16-block columns share a stripe
+
+    private final long timeoutMs;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * A player's interaction with a block.
+     */
+    public static final class Interaction {
+        public final UUID playerId;
+        public final String worldName;
+        public final int worldId;
+        public final int x;
+        public final int y;
+        public final int z;
+        public final long timestamp;
+
+        Interaction(UUID playerId, String worldName, int worldId, int x, int y, int z, long timestamp) {
+            this.playerId = playerId;
+            this.worldName = worldName;
+            this.worldId = worldId;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.timestamp = timestamp;
+        }
+
+        boolean isAt(int worldId, int x, int y, int z) {
+            return this.worldId == worldId && this.x == x && this.y == y && this.z == z;
+        }
+    }
+
+    /**
+     * One lock's share of the interactions. All fields are guarded by the stripe itself.
+     */
+    private final class Stripe {
+        final Long2ObjectOpenHashMap<Interaction> byBlock = new Long2ObjectOpenHashMap<>();
+        final LongArrayList[] wheel; // slot -> keys recorded during that slot's window
+        long currentTick = -1;
+
+        Stripe(int slots) {
+            wheel = new LongArrayList[slots];
+            for (int i = 0; i < slots; i++) {
+                wheel[i] = new LongArrayList();
+            }
+        }
+
+        Interaction get(int worldId, int x, int y, int z, long now) {
+            Interaction interaction = byBlock.get(pack(worldId, x, y, z));
+            return interaction != null && interaction.isAt(worldId, x, y, z) && now - interaction.timestamp <= timeoutMs
+                    ? interaction : null;
+        }
+
+        private int slot(long tick) {
+            return (int) (tick % wheel.length);
+        }
+
+        /**
+         * Moves the wheel up to the current time, sweeping every slot it passes. Each slot
+         * being reused holds keys recorded a full turn ago; a key is only dropped if it
+         * wasn't recorded again since.
+         */
+        void advance(long now) {
+            long tick = now / SLOT_MS;
+            if (currentTick < 0) {
+                currentTick = tick;
+                return;
+            }
+            if (tick - currentTick >= wheel.length) {
+                // Idle for a full turn - everything has expired
+                byBlock.clear();
+                for (LongArrayList keys : wheel) {
+                    keys.clear();
+                }
+                currentTick = tick;
+                return;
+            }
+
+            while (currentTick < tick) {
+                currentTick++;
+                LongArrayList keys = wheel[slot(currentTick)];
+                long staleTick = currentTick - wheel.length;
+                for (int i = 0; i < keys.size(); i++) {
+                    long key = keys.getLong(i);
+                    Interaction interaction = byBlock.get(key);
+                    if (interaction != null && interaction.timestamp / SLOT_MS <= staleTick) {
+                        byBlock.remove(key);
+                    }
+                }
+                keys.clear();
+            }
+        }
+    }
+
+    public InteractionTracker(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        // One slot per window, plus the one being filled, so a swept slot is always past the timeout
+        int slots = (int) ((timeoutMs + SLOT_MS - 1) / SLOT_MS) + 1;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(slots);
+        }
+    }
+
+    /**
+     * Packs a world id and block position into a long: 10 bits of world id, 21 bits each
+     * of x and z and 12 bits of y. Positions 2^21 blocks apart (and world ids 1024 apart)
+     * share a key, so lookups check the interaction's own position.
+     */
+    public static long pack(int worldId, int x, int y, int z) {
+        return ((long) (worldId & 0x3FF) << 54) | ((long) (x & 0x1FFFFF) << 33)
+                | ((long) (z & 0x1FFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private Stripe stripe(int worldId, int x, int z) {
+        long cell = ((long) (x >> CELL_SHIFT) << 32) ^ (z >> CELL_SHIFT) ^ ((long) worldId << 48);
+        return stripes[(int) (HashCommon.mix(cell) & (STRIPES - 1))];
+    }
+
+    /**
+     * Records an interaction, replacing any earlier one with the same block.
+     */
+    public void record(UUID playerId, String worldName, int x, int y, int z, long now) {
+        int worldId = WorldRegistry.getId(worldName);
+        long key = pack(worldId, x, y, z);
+        Stripe stripe = stripe(worldId, x, z);
+        synchronized (stripe) {
+            stripe.advance(now);
+            stripe.byBlock.put(key, new Interaction(playerId, worldName, worldId, x, y, z, now));
+            stripe.wheel[stripe.slot(stripe.currentTick)].add(key);
+        }
+    }
+
+    /**
+     * Gets the interaction with a block, or null if there is none within the timeout.
+     */
+    public Interaction get(int worldId, int x, int y, int z, long now) {
+        Stripe stripe = stripe(worldId, x, z);
+        synchronized (stripe) {
+            stripe.advance(now);
+            return stripe.get(worldId, x, y, z, now);
+        }
+    }
+
+    /**
+     * Finds the interaction with a block or, failing that, the most recent one with a
+     * block next to it (within 1 on every axis). Probes the 27 surrounding keys, under a
+     * single lock unless the neighbourhood crosses into another column.
+     */
+    public Interaction findNearby(int worldId, int x, int y, int z, long now) {
+        Interaction exact = get(worldId, x, y, z, now);
+        if (exact != null) {
+            return exact;
+        }
+
+        Stripe single = stripe(worldId, x, z);
+        boolean oneColumn = (x - 1) >> CELL_SHIFT == (x + 1) >> CELL_SHIFT
+                && (z - 1) >> CELL_SHIFT == (z + 1) >> CELL_SHIFT;
+        Interaction best = null;
+        if (oneColumn) {
+            synchronized (single) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        best = newest(single, worldId, x + dx, y, z + dz, now, best);
+                    }
+                }
+            }
+            return best;
+        }
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                Stripe stripe = stripe(worldId, x + dx, z + dz);
+                synchronized (stripe) {
+                    best = newest(stripe, worldId, x + dx, y, z + dz, now, best);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the most recent of {@code best} and the interactions at y-1..y+1 of one
+     * block column. Must be called holding the stripe's lock.
+     */
+    private static Interaction newest(Stripe stripe, int worldId, int x, int y, int z, long now, Interaction best) {
+        for (int dy = -1; dy <= 1; dy++) {
+            Interaction interaction = stripe.get(worldId, x, y + dy, z, now);
+            if (interaction != null && (best == null || interaction.timestamp > best.timestamp)) {
+                best = interaction;
+            }
+        }
+        return best;
+    }
+
+    public void remove(int worldId, int x, int y, int z) {
+        Stripe stripe = stripe(worldId, x, z);
+        synchronized (stripe) {
+            long key = pack(worldId, x, y, z);
+            Interaction interaction = stripe.byBlock.get(key);
+            if (interaction != null && interaction.isAt(worldId, x, y, z)) {
+                stripe.byBlock.remove(key); // Its wheel slot skips keys that are gone
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.byBlock.size();
+            }
+        }
+        return size;
+    }
+}
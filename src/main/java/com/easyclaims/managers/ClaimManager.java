@@ -4,13 +4,17 @@ import com.easyclaims.config.BlockGroups;
 import com.easyclaims.config.PluginConfig;
 import com.easyclaims.data.Claim;
 import com.easyclaims.data.ClaimStorage;
+import com.easyclaims.data.OwnerRegistry;
 import com.easyclaims.data.PlayerClaims;
 import com.easyclaims.data.PlaytimeData;
 import com.easyclaims.data.PlaytimeStorage;
 import com.easyclaims.data.TrustLevel;
+import com.easyclaims.data.WorldRegistry;
 import com.easyclaims.util.ChunkUtil;
 
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Core claim logic and protection checks.
@@ -21,6 +25,29 @@ public class ClaimManager {
     private final PluginConfig config;
     private final BlockGroups blockGroups;
 
+    // Last permission decision per player and required level, see hasPermissionAt
+    private final Map<UUID, Decision[]> decisions = new ConcurrentHashMap<>();
+    private static final int LEVEL_COUNT = TrustLevel.values().length;
+
+    /**
+     * An immutable cached result of a permission check in one chunk.
+     */
+    private static final class Decision {
+        final long version;
+        final int worldId;
+        final int chunkX;
+        final int chunkZ;
+        final boolean allowed;
+
+        Decision(long version, int worldId, int chunkX, int chunkZ, boolean allowed) {
+            this.version = version;
+            this.worldId = worldId;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.allowed = allowed;
+        }
+    }
+
     public ClaimManager(ClaimStorage claimStorage, PlaytimeStorage playtimeStorage, PluginConfig config, BlockGroups blockGroups) {
         this.claimStorage = claimStorage;
         this.playtimeStorage = playtimeStorage;
@@ -138,33 +165,85 @@ public class ClaimManager {
     /**
      * Checks if a player has at least the specified trust level at a location.
      * Returns true if: unclaimed, owner, or has sufficient trust level.
+     * Called from protection events, so it never loads from disk: if the owner's
+     * trust data is not in memory yet, access is denied while it loads.
      */
     public boolean hasPermissionAt(UUID playerId, String world, double x, double z, TrustLevel required) {
+        return hasPermissionAt(playerId, WorldRegistry.findId(world), x, z, required);
+    }
+
+    /**
+     * Same as {@link #hasPermissionAt(UUID, String, double, double, TrustLevel)} for a world id.
+     * The last decision per player and trust level is cached until a check targets another
+     * chunk or {@link ClaimStorage#getPermissionVersion} changes, so repeated checks while
+     * mining or building in one chunk skip the index and trust lookups.
+     */
+    public boolean hasPermissionAt(UUID playerId, int worldId, double x, double z, TrustLevel required) {
         int chunkX = ChunkUtil.toChunkX(x);
         int chunkZ = ChunkUtil.toChunkZ(z);
+        if (!claimStorage.mightBeClaimed(worldId, chunkX, chunkZ)) {
+            return true; // Wilderness - no need to consult or fill the cache
+        }
 
-        UUID owner = claimStorage.getClaimOwner(world, chunkX, chunkZ);
-        if (owner == null) {
+        // Read the version before deciding, so a change made meanwhile invalidates the result
+        long version = claimStorage.getPermissionVersion();
+        Decision[] cached = decisions.get(playerId);
+        if (cached == null) {
+            cached = new Decision[LEVEL_COUNT];
+            Decision[] raced = decisions.putIfAbsent(playerId, cached);
+            if (raced != null) {
+                cached = raced;
+            }
+        }
+        Decision last = cached[required.ordinal()];
+        if (last != null && last.version == version && last.worldId == worldId
+                && last.chunkX == chunkX && last.chunkZ == chunkZ) {
+            return last.allowed;
+        }
+
+        boolean allowed = computePermission(playerId, worldId, chunkX, chunkZ, required);
+        cached[required.ordinal()] = new Decision(version, worldId, chunkX, chunkZ, allowed);
+        return allowed;
+    }
+
+    private boolean computePermission(UUID playerId, int worldId, int chunkX, int chunkZ, TrustLevel required) {
+        int ownerId = claimStorage.getClaimOwnerId(worldId, chunkX, chunkZ);
+        if (ownerId == OwnerRegistry.NONE) {
             return true; // Unclaimed
         }
-        if (owner.equals(playerId)) {
+        if (ownerId == OwnerRegistry.findId(playerId)) {
             return true; // Owner
         }
 
         // Check if trusted with sufficient level
-        PlayerClaims ownerClaims = claimStorage.getPlayerClaims(owner);
+        PlayerClaims ownerClaims = claimStorage.getPlayerClaimsIfLoaded(OwnerRegistry.getUuid(ownerId));
+        if (ownerClaims == null) {
+            return false; // Trust data still loading - deny until it arrives
+        }
         return ownerClaims.hasPermission(playerId, required);
     }
 
+    /**
+     * Drops a player's cached permission decisions (call when they disconnect).
+     */
+    public void forgetPlayer(UUID playerId) {
+        decisions.remove(playerId);
+    }
+
     /**
      * Gets the trust level a player has at a location.
-     * @return BUILD if owner, the trust level if trusted, or NONE
+     * @return BUILD if owner, the trust level if trusted, or NONE (also while the
+     *         owner's trust data is still loading)
      */
     public TrustLevel getTrustLevelAt(UUID playerId, String world, double x, double z) {
+        return getTrustLevelAt(playerId, WorldRegistry.findId(world), x, z);
+    }
+
+    public TrustLevel getTrustLevelAt(UUID playerId, int worldId, double x, double z) {
         int chunkX = ChunkUtil.toChunkX(x);
         int chunkZ = ChunkUtil.toChunkZ(z);
 
-        UUID owner = claimStorage.getClaimOwner(world, chunkX, chunkZ);
+        UUID owner = claimStorage.getClaimOwner(worldId, chunkX, chunkZ);
         if (owner == null) {
             return TrustLevel.BUILD; // Unclaimed = full access
         }
@@ -172,7 +251,10 @@ public class ClaimManager {
             return TrustLevel.BUILD; // Owner = full access
         }
 
-        PlayerClaims ownerClaims = claimStorage.getPlayerClaims(owner);
+        PlayerClaims ownerClaims = claimStorage.getPlayerClaimsIfLoaded(owner);
+        if (ownerClaims == null) {
+            return TrustLevel.NONE;
+        }
         return ownerClaims.getTrustLevel(playerId);
     }
 
@@ -190,6 +272,7 @@ public class ClaimManager {
      * - Unclaimed (wilderness): PvP always enabled
      * - Admin claims: Use the claim's pvpEnabled setting
      * - Player claims: Use server config (pvpInPlayerClaims)
+     * - Admin claim data still loading: PvP disabled until it arrives
      *
      * @param world The world name
      * @param x Block X coordinate
@@ -197,21 +280,15 @@ public class ClaimManager {
      * @return true if PvP is enabled, false if disabled
      */
     public boolean isPvPEnabledAt(String world, double x, double z) {
+        return isPvPEnabledAt(WorldRegistry.findId(world), x, z);
+    }
+
+    public boolean isPvPEnabledAt(int worldId, double x, double z) {
         int chunkX = ChunkUtil.toChunkX(x);
         int chunkZ = ChunkUtil.toChunkZ(z);
 
-        Claim claim = claimStorage.getClaimAt(world, chunkX, chunkZ);
-        if (claim == null) {
-            return true; // Unclaimed = PvP enabled (wilderness)
-        }
-
-        // Admin claims have their own per-claim PvP setting
-        if (claim.isAdminClaim()) {
-            return claim.isPvpEnabled();
-        }
-
-        // Player claims use the global server setting
-        return config.isPvpInPlayerClaims();
+        // The claim index keeps the rules above as one precomputed bit per chunk
+        return !claimStorage.isPvpDisabled(worldId, chunkX, chunkZ);
     }
 
     /**
@@ -241,9 +318,7 @@ public class ClaimManager {
      * Adds a trusted player with a specific trust level.
      */
     public void addTrust(UUID ownerId, UUID trustedId, String trustedName, TrustLevel level) {
-        PlayerClaims claims = claimStorage.getPlayerClaims(ownerId);
-        claims.addTrustedPlayer(trustedId, trustedName, level);
-        claimStorage.savePlayerClaims(ownerId);
+        claimStorage.addTrustedPlayer(ownerId, trustedId, trustedName, level);
     }
 
     /**
@@ -258,12 +333,7 @@ public class ClaimManager {
      * @return the removed player's name, or null if not found
      */
     public String removeTrust(UUID ownerId, UUID trustedId) {
-        PlayerClaims claims = claimStorage.getPlayerClaims(ownerId);
-        String removedName = claims.removeTrustedPlayer(trustedId);
-        if (removedName != null) {
-            claimStorage.savePlayerClaims(ownerId);
-        }
-        return removedName;
+        return claimStorage.removeTrustedPlayer(ownerId, trustedId);
     }
 
     /**
@@ -5,18 +5,26 @@ import com.easyclaims.data.PlaytimeData;
 import com.easyclaims.data.PlaytimeStorage;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Manages playtime tracking for online players.
+ *
+ * Only online players are visited by the periodic update. Leaving just marks the
+ * player dirty; the next update writes every dirty record in one batch and then drops
+ * offline players from the storage cache.
  */
 public class PlaytimeManager {
     private final PlaytimeStorage storage;
     private final PluginConfig config;
     private final ScheduledExecutorService scheduler;
+    private final Set<UUID> onlinePlayers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet(); // Left since the last flush
 
     public PlaytimeManager(PlaytimeStorage storage, PluginConfig config) {
         this.storage = storage;
@@ -31,18 +39,21 @@ public class PlaytimeManager {
     /**
      * Called when a player joins the server.
      */
-    public void onPlayerJoin(UUID playerId) {
+    public synchronized void onPlayerJoin(UUID playerId) {
+        onlinePlayers.add(playerId);
         PlaytimeData data = storage.getPlaytime(playerId);
         data.startSession();
     }
 
     /**
-     * Called when a player leaves the server.
+     * Called when a player leaves the server. The record is written by the next
+     * periodic flush, not on the disconnect thread.
      */
-    public void onPlayerLeave(UUID playerId) {
+    public synchronized void onPlayerLeave(UUID playerId) {
+        onlinePlayers.remove(playerId);
         PlaytimeData data = storage.getPlaytime(playerId);
         data.endSession();
-        storage.savePlaytime(playerId);
+        dirtyPlayers.add(playerId);
     }
 
     /**
@@ -60,21 +71,54 @@ public class PlaytimeManager {
     }
 
     /**
-     * Updates all active sessions and saves periodically.
+     * Saves online and recently departed players in one batch, then evicts offline
+     * players whose data is on disk.
      */
     private void updateAllSessions() {
-        Map<UUID, PlaytimeData> cache = storage.getCache();
-        for (Map.Entry<UUID, PlaytimeData> entry : cache.entrySet()) {
-            PlaytimeData data = entry.getValue();
-            if (data.isInSession()) {
-                // Session is active, save periodically
-                storage.savePlaytime(entry.getKey());
+        try {
+            for (UUID playerId : onlinePlayers) {
+                storage.savePlaytime(playerId);
+            }
+            UUID[] departed = dirtyPlayers.toArray(new UUID[0]);
+            for (UUID playerId : departed) {
+                dirtyPlayers.remove(playerId);
+                storage.savePlaytime(playerId);
+            }
+            storage.flush();
+
+            evictOfflinePlayers();
+        } catch (RuntimeException e) {
+            e.printStackTrace(); // Keep the schedule alive
+        }
+    }
+
+    /**
+     * Drops cached data of players who are offline and have nothing left to save
+     * (including offline players looked up by commands).
+     */
+    private synchronized void evictOfflinePlayers() {
+        for (Map.Entry<UUID, PlaytimeData> entry : storage.getCache().entrySet()) {
+            UUID playerId = entry.getKey();
+            if (!onlinePlayers.contains(playerId) && !dirtyPlayers.contains(playerId)) {
+                storage.unload(playerId, entry.getValue());
             }
         }
     }
 
     /**
-     * Shuts down the playtime manager.
+     * Runs other light periodic work on the playtime thread, so it needs no thread of its own.
+     */
+    public void scheduleAtFixedRate(Runnable task, long periodMs) {
+        scheduler.scheduleAtFixedRate(task, periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    public int getOnlineCount() {
+        return onlinePlayers.size();
+    }
+
+    /**
+     * Shuts down the playtime manager and ends all sessions. The records are saved when
+     * the storage is closed afterwards.
      */
     public void shutdown() {
         scheduler.shutdown();
@@ -86,14 +130,9 @@ public class PlaytimeManager {
             scheduler.shutdownNow();
         }
 
-        // End all sessions and save
-        Map<UUID, PlaytimeData> cache = storage.getCache();
-        for (Map.Entry<UUID, PlaytimeData> entry : cache.entrySet()) {
-            PlaytimeData data = entry.getValue();
-            if (data.isInSession()) {
-                data.endSession();
-            }
+        // End all sessions
+        for (UUID playerId : onlinePlayers) {
+            storage.getPlaytime(playerId).endSession();
         }
-        storage.saveAll();
     }
 }
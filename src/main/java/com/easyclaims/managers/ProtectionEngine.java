@@ -0,0 +1,255 @@
+package com.easyclaims.managers;
+
+import com.hypixel.hytale.logger.HytaleLogger;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.easyclaims.data.TrustLevel;
+import com.easyclaims.data.WorldRegistry;
+import com.easyclaims.util.MessageThrottler;
+import com.easyclaims.util.Messages;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single decision point for all claim protection events (block break/place/damage/use,
+ * item pickup, interactions and PvP).
+ *
+ * Event handlers only fetch their components and describe the action; the admin bypass,
+ * world lookup, permission check, denial message throttling and statistics live here,
+ * so every event type shares them.
+ */
+public class ProtectionEngine {
+    /**
+     * What a player is trying to do. Decides the denial message and groups statistics.
+     */
+    public enum Action {
+        BREAK_BLOCK,
+        PLACE_BLOCK,
+        DAMAGE_BLOCK,
+        USE_BLOCK,
+        PICKUP,
+        INTERACT,
+        PVP
+    }
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final String ADMIN_PERMISSION = "easyclaims.admin";
+
+    private final ClaimManager claimManager;
+    private final HytaleLogger logger;
+
+    // Admin bypass, cached so events don't resolve the permission string every time
+    public static final long REFRESH_INTERVAL_MS = 5000; // Picks up permission changes within 5 seconds
+    private final Map<UUID, BypassState> bypassStates = new ConcurrentHashMap<>();
+    private final Set<UUID> bypassDisabled = ConcurrentHashMap.newKeySet(); // Admins who turned bypass off
+
+    // Players who disconnected recently -> when, so state re-created by events still in flight is dropped
+    private static final long DEPARTED_GRACE_MS = 60000;
+    private final Map<UUID, Long> departed = new ConcurrentHashMap<>();
+
+    // Rate limit denial messages per action - don't spam players
+    private static final long MESSAGE_COOLDOWN_MS = 2000; // 2 seconds
+    private final MessageThrottler throttler = new MessageThrottler(ACTIONS.length, MESSAGE_COOLDOWN_MS);
+
+    // Statistics, indexed by Action ordinal
+    private final LongAdder[] checks = new LongAdder[ACTIONS.length];
+    private final LongAdder[] denials = new LongAdder[ACTIONS.length];
+
+    /**
+     * Whether a player bypasses protection. Read by every check, re-derived by {@link #refresh}.
+     */
+    private static final class BypassState {
+        final Player player;
+        volatile boolean bypass;
+
+        BypassState(Player player) {
+            this.player = player;
+        }
+    }
+
+    public ProtectionEngine(ClaimManager claimManager, HytaleLogger logger) {
+        this.claimManager = claimManager;
+        this.logger = logger;
+        for (int i = 0; i < ACTIONS.length; i++) {
+            checks[i] = new LongAdder();
+            denials[i] = new LongAdder();
+        }
+    }
+
+    public ClaimManager getClaimManager() {
+        return claimManager;
+    }
+
+    /**
+     * Checks whether a player may perform an action at a position. On denial the player
+     * gets the action's message (rate limited) and the caller should cancel the event.
+     *
+     * @param required the trust level the action needs in someone else's claim
+     * @return true if allowed
+     */
+    public boolean check(Player player, UUID playerId, Action action, double x, double z, TrustLevel required) {
+        checks[action.ordinal()].increment();
+
+        // Admin bypass - allow all actions
+        if (bypasses(player, playerId)
+                || claimManager.hasPermissionAt(playerId, WorldRegistry.findId(player.getWorld().getName()), x, z, required)) {
+            return true;
+        }
+
+        denials[action.ordinal()].increment();
+        notifyDenied(player, playerId, action, required);
+        logger.atFine().log("Blocked %s: player=%s pos=[%.1f, %.1f] required=%s", action, playerId, x, z, required);
+        return false;
+    }
+
+    /**
+     * Checks whether PvP damage may land on a victim at a position. On denial the caller
+     * should cancel the damage and {@link #notifyDenied notify} the attacker.
+     *
+     * @return true if the damage is allowed
+     */
+    public boolean checkPvP(Player victim, double x, double z) {
+        checks[Action.PVP.ordinal()].increment();
+
+        int worldId = WorldRegistry.findId(victim.getWorld().getName());
+        if (claimManager.isPvPEnabledAt(worldId, x, z)) {
+            return true;
+        }
+        denials[Action.PVP.ordinal()].increment();
+        return false;
+    }
+
+    private static Message denialMessage(Action action, TrustLevel required) {
+        return switch (action) {
+            case BREAK_BLOCK, PLACE_BLOCK -> Messages.cannotBuildHere();
+            case DAMAGE_BLOCK -> Messages.cannotDamageHere();
+            case USE_BLOCK -> Messages.cannotUseBlock(required);
+            case PICKUP -> Messages.cannotPickupItemsHere();
+            case PVP -> Messages.pvpDisabledHere();
+            default -> Messages.cannotInteractHere();
+        };
+    }
+
+    /**
+     * Tells a player why their action was denied, at most once per cooldown per action.
+     */
+    public void notifyDenied(Player player, UUID playerId, Action action, TrustLevel required) {
+        if (throttler.tryAcquire(playerId, action.ordinal())) {
+            player.sendMessage(denialMessage(action, required));
+        }
+    }
+
+    // ===== ADMIN BYPASS =====
+
+    /**
+     * Checks if a player bypasses claim protection: they have the admin permission and
+     * have not turned bypass mode off. The permission is only read on a player's first
+     * check; after that this is a map read, and {@link #refresh} keeps the flag current.
+     */
+    private boolean bypasses(Player player, UUID playerId) {
+        BypassState state = bypassStates.get(playerId);
+        if (state == null) {
+            state = new BypassState(player);
+            updateBypass(playerId, state);
+            bypassStates.put(playerId, state);
+        }
+        return state.bypass;
+    }
+
+    private void updateBypass(UUID playerId, BypassState state) {
+        state.bypass = !bypassDisabled.contains(playerId) && state.player.hasPermission(ADMIN_PERMISSION);
+    }
+
+    /**
+     * Turns an admin's bypass mode on or off. With bypass off, claims protect against
+     * them like any other player until they turn it back on or disconnect.
+     */
+    public void setBypassEnabled(UUID playerId, boolean enabled) {
+        if (enabled) {
+            bypassDisabled.remove(playerId);
+        } else {
+            bypassDisabled.add(playerId);
+        }
+        refreshBypass(playerId);
+    }
+
+    public boolean isBypassEnabled(UUID playerId) {
+        return !bypassDisabled.contains(playerId);
+    }
+
+    /**
+     * Re-reads a player's admin permission (call when their permissions change).
+     */
+    public void refreshBypass(UUID playerId) {
+        BypassState state = bypassStates.get(playerId);
+        if (state != null) {
+            updateBypass(playerId, state);
+        }
+    }
+
+    // ===== PLAYER STATE =====
+
+    /**
+     * Starts tracking a player again after a disconnect and reads their admin permission
+     * on their first check (call when they connect).
+     */
+    public void onPlayerConnect(UUID playerId) {
+        departed.remove(playerId);
+        bypassStates.remove(playerId);
+    }
+
+    /**
+     * Drops a player's per-player state (call when they disconnect). State that events
+     * still in flight create for them is dropped again by {@link #refresh}.
+     */
+    public void forgetPlayer(UUID playerId) {
+        departed.put(playerId, System.currentTimeMillis());
+        dropState(playerId);
+    }
+
+    private void dropState(UUID playerId) {
+        throttler.forgetPlayer(playerId);
+        bypassStates.remove(playerId);
+        bypassDisabled.remove(playerId);
+        claimManager.forgetPlayer(playerId);
+    }
+
+    /**
+     * Periodic upkeep, run every {@link #REFRESH_INTERVAL_MS} off the world threads:
+     * drops whatever state late events created for departed players, forgets departures
+     * older than the grace period and re-reads every tracked player's admin permission.
+     */
+    public void refresh() {
+        try {
+            long now = System.currentTimeMillis();
+            departed.entrySet().removeIf(entry -> {
+                dropState(entry.getKey());
+                return now - entry.getValue() > DEPARTED_GRACE_MS;
+            });
+            bypassStates.forEach(this::updateBypass);
+        } catch (RuntimeException e) {
+            e.printStackTrace(); // Keep the schedule alive
+        }
+    }
+
+    // ===== STATISTICS =====
+
+    public long getCheckCount(Action action) {
+        return checks[action.ordinal()].sum();
+    }
+
+    public long getDenialCount(Action action) {
+        return denials[action.ordinal()].sum();
+    }
+
+    /**
+     * Gets how many denial messages for an action were held back by the cooldown.
+     */
+    public long getSuppressedMessageCount(Action action) {
+        return throttler.getSuppressedCount(action.ordinal());
+    }
+}
@@ -12,6 +12,9 @@ import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.section.FluidSection;
 import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.easyclaims.EasyClaimsAccess;
+import com.easyclaims.data.AdminClaims;
+import com.easyclaims.data.OwnerRegistry;
+import com.easyclaims.data.WorldClaimIndex;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -49,7 +52,7 @@ public class ClaimImageBuilder {
     @Nonnull
     private final int[] fluidSamples;
     private final MapColor outColor = new MapColor();
-    private final UUID[] nearbyOwners = new UUID[4];  // Reusable array for neighboring claim lookups
+    private final int[] nearbyOwners = new int[4];  // Reusable array for neighboring claim owner ids
     @Nullable
     private WorldChunk worldChunk;
     private FluidSection[] fluidSections;
@@ -282,13 +285,16 @@ public class ClaimImageBuilder {
         int chunkX = ChunkUtil.xOfChunkIndex(this.index);
         int chunkZ = ChunkUtil.zOfChunkIndex(this.index);
 
-        // Get claim info for this chunk using the accessor
+        // Get claim info for this chunk from one index snapshot, so the chunk and its
+        // neighbors are read from the same state
         String worldName = this.worldChunk.getWorld().getName();
-        UUID claimOwner = EasyClaimsAccess.getClaimOwner(worldName, chunkX, chunkZ);
+        WorldClaimIndex.Snapshot claims = EasyClaimsAccess.getIndexSnapshot(worldName);
+        int claimOwnerId = claims.getOwnerId(chunkX, chunkZ);
+        UUID claimOwner = OwnerRegistry.getUuid(claimOwnerId);
         Color claimColor = claimOwner != null ? ClaimColorGenerator.getPlayerColor(claimOwner) : null;
 
         // Check for admin claims and PvP status
-        boolean isAdminClaim = EasyClaimsAccess.isAdminClaim(worldName, chunkX, chunkZ);
+        boolean isAdminClaim = AdminClaims.isAdminClaim(claimOwner);
         boolean pvpDisabled = EasyClaimsAccess.isPvPDisabled(worldName, chunkX, chunkZ);
 
         // Admin claims get a distinct light blue color
@@ -297,10 +303,10 @@ public class ClaimImageBuilder {
         }
 
         // Get neighboring claim owners to determine borders (reuse array to reduce allocations)
-        nearbyOwners[0] = EasyClaimsAccess.getClaimOwner(worldName, chunkX, chunkZ + 1); // SOUTH
-        nearbyOwners[1] = EasyClaimsAccess.getClaimOwner(worldName, chunkX, chunkZ - 1); // NORTH
-        nearbyOwners[2] = EasyClaimsAccess.getClaimOwner(worldName, chunkX + 1, chunkZ); // EAST
-        nearbyOwners[3] = EasyClaimsAccess.getClaimOwner(worldName, chunkX - 1, chunkZ); // WEST
+        nearbyOwners[0] = claims.getOwnerId(chunkX, chunkZ + 1); // SOUTH
+        nearbyOwners[1] = claims.getOwnerId(chunkX, chunkZ - 1); // NORTH
+        nearbyOwners[2] = claims.getOwnerId(chunkX + 1, chunkZ); // EAST
+        nearbyOwners[3] = claims.getOwnerId(chunkX - 1, chunkZ); // WEST
 
         // Generate the image
         for (int ix = 0; ix < this.image.width; ++ix) {
@@ -322,10 +328,10 @@ public class ClaimImageBuilder {
                     int borderSize = 2;
 
                     // Check if this pixel is on a border where the adjacent chunk has a different owner
-                    if ((ix <= borderSize && !Objects.equals(claimOwner, nearbyOwners[3])) // WEST border
-                            || (ix >= this.image.width - borderSize - 1 && !Objects.equals(claimOwner, nearbyOwners[2])) // EAST border
-                            || (iz <= borderSize && !Objects.equals(claimOwner, nearbyOwners[1])) // NORTH border
-                            || (iz >= this.image.height - borderSize - 1 && !Objects.equals(claimOwner, nearbyOwners[0]))) { // SOUTH border
+                    if ((ix <= borderSize && claimOwnerId != nearbyOwners[3]) // WEST border
+                            || (ix >= this.image.width - borderSize - 1 && claimOwnerId != nearbyOwners[2]) // EAST border
+                            || (iz <= borderSize && claimOwnerId != nearbyOwners[1]) // NORTH border
+                            || (iz >= this.image.height - borderSize - 1 && claimOwnerId != nearbyOwners[0])) { // SOUTH border
                         isBorder = true;
                     }
 
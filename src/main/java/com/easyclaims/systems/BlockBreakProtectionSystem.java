@@ -8,50 +8,29 @@ import com.hypixel.hytale.component.dependency.Dependency;
 import com.hypixel.hytale.component.dependency.RootDependency;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
-import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.easyclaims.data.TrustLevel;
-import com.easyclaims.managers.ClaimManager;
-import com.easyclaims.util.Messages;
+import com.easyclaims.managers.ProtectionEngine;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ECS System that intercepts block break events to protect claimed areas.
  */
 public class BlockBreakProtectionSystem extends EntityEventSystem<EntityStore, BreakBlockEvent> {
 
-    private final ClaimManager claimManager;
-    private final HytaleLogger logger;
+    private final ProtectionEngine engine;
 
-    // Rate limit messages - don't spam players
-    private static final Map<UUID, Long> lastMessageTime = new ConcurrentHashMap<>();
-    private static final long MESSAGE_COOLDOWN_MS = 2000; // 2 seconds
-
-    public BlockBreakProtectionSystem(ClaimManager claimManager, HytaleLogger logger) {
+    public BlockBreakProtectionSystem(ProtectionEngine engine) {
         super(BreakBlockEvent.class);
-        this.claimManager = claimManager;
-        this.logger = logger;
-    }
-
-    private boolean canSendMessage(UUID playerId) {
-        long now = System.currentTimeMillis();
-        Long lastTime = lastMessageTime.get(playerId);
-        if (lastTime == null || now - lastTime > MESSAGE_COOLDOWN_MS) {
-            lastMessageTime.put(playerId, now);
-            return true;
-        }
-        return false;
+        this.engine = engine;
     }
 
     @Nullable
@@ -81,20 +60,10 @@ public class BlockBreakProtectionSystem extends EntityEventSystem<EntityStore, B
         PlayerRef playerRef = store.getComponent(entityRef, PlayerRef.getComponentType());
         if (player == null || playerRef == null) return;
 
-        UUID playerId = playerRef.getUuid();
-        String worldName = player.getWorld().getName();
-
-        // Admin bypass - allow all actions
-        if (player.hasPermission("easyclaims.admin")) {
-            return;
-        }
-
         // Breaking blocks requires BUILD trust level
-        if (!claimManager.hasPermissionAt(playerId, worldName, targetBlock.getX(), targetBlock.getZ(), TrustLevel.BUILD)) {
+        if (!engine.check(player, playerRef.getUuid(), ProtectionEngine.Action.BREAK_BLOCK,
+                targetBlock.getX(), targetBlock.getZ(), TrustLevel.BUILD)) {
             event.setCancelled(true);
-            if (canSendMessage(playerId)) {
-                player.sendMessage(Messages.cannotBuildHere());
-            }
         }
     }
 }
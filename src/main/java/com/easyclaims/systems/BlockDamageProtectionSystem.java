@@ -8,23 +8,18 @@ import com.hypixel.hytale.component.dependency.Dependency;
 import com.hypixel.hytale.component.dependency.RootDependency;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
-import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.event.events.ecs.DamageBlockEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.easyclaims.data.TrustLevel;
-import com.easyclaims.managers.ClaimManager;
-import com.easyclaims.util.Messages;
+import com.easyclaims.managers.ProtectionEngine;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ECS System that intercepts block damage events to protect claimed areas.
@@ -32,27 +27,11 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class BlockDamageProtectionSystem extends EntityEventSystem<EntityStore, DamageBlockEvent> {
 
-    private final ClaimManager claimManager;
-    private final HytaleLogger logger;
+    private final ProtectionEngine engine;
 
-    // Rate limit messages - don't spam players
-    private static final Map<UUID, Long> lastMessageTime = new ConcurrentHashMap<>();
-    private static final long MESSAGE_COOLDOWN_MS = 2000; // 2 seconds
-
-    public BlockDamageProtectionSystem(ClaimManager claimManager, HytaleLogger logger) {
+    public BlockDamageProtectionSystem(ProtectionEngine engine) {
         super(DamageBlockEvent.class);
-        this.claimManager = claimManager;
-        this.logger = logger;
-    }
-
-    private boolean canSendMessage(UUID playerId) {
-        long now = System.currentTimeMillis();
-        Long lastTime = lastMessageTime.get(playerId);
-        if (lastTime == null || now - lastTime > MESSAGE_COOLDOWN_MS) {
-            lastMessageTime.put(playerId, now);
-            return true;
-        }
-        return false;
+        this.engine = engine;
     }
 
     @Nullable
@@ -82,20 +61,10 @@ public class BlockDamageProtectionSystem extends EntityEventSystem<EntityStore,
         PlayerRef playerRef = store.getComponent(entityRef, PlayerRef.getComponentType());
         if (player == null || playerRef == null) return;
 
-        UUID playerId = playerRef.getUuid();
-        String worldName = player.getWorld().getName();
-
-        // Admin bypass - allow all actions
-        if (player.hasPermission("easyclaims.admin")) {
-            return;
-        }
-
         // Damaging blocks requires DAMAGE trust level
-        if (!claimManager.hasPermissionAt(playerId, worldName, targetBlock.getX(), targetBlock.getZ(), TrustLevel.DAMAGE)) {
+        if (!engine.check(player, playerRef.getUuid(), ProtectionEngine.Action.DAMAGE_BLOCK,
+                targetBlock.getX(), targetBlock.getZ(), TrustLevel.DAMAGE)) {
             event.setCancelled(true);
-            if (canSendMessage(playerId)) {
-                player.sendMessage(Messages.cannotDamageHere());
-            }
         }
     }
 }
@@ -1,6 +1,7 @@
 package com.easyclaims.systems;
 
 import com.easyclaims.data.ClaimStorage;
+import com.easyclaims.data.WorldRegistry;
 import com.easyclaims.util.ChunkUtil;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
@@ -23,19 +24,24 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Ticking system that shows a title banner when players enter or leave claimed zones.
  * Runs every tick for all players and displays a title when the claim status changes.
+ * When a player moves into a new chunk it also prefetches the owners of nearby claims,
+ * so their trust data is loaded before the player reaches them.
  */
 public class ClaimTitleSystem extends EntityTickingSystem<EntityStore> {
 
     private static final Message WILDERNESS_MESSAGE = Message.raw("Wilderness").color(new Color(85, 255, 85));
     private static final Message EASY_CLAIMS_MESSAGE = Message.raw("EasyClaims");
     private static final String WILDERNESS_TEXT = "Wilderness";
+    private static final int PREFETCH_RADIUS = 3; // Chunks around the player to warm
 
     private final ClaimStorage claimStorage;
     private final Map<UUID, String> playerLastTitle;
+    private final Map<UUID, Long> playerLastChunk;
 
     public ClaimTitleSystem(ClaimStorage claimStorage) {
         this.claimStorage = claimStorage;
         this.playerLastTitle = new ConcurrentHashMap<>();
+        this.playerLastChunk = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -55,11 +61,19 @@ public class ClaimTitleSystem extends EntityTickingSystem<EntityStore> {
         int chunkZ = ChunkUtil.toChunkZ(posZ);
         String worldName = player.getWorld().getName();
 
+        long chunkIndex = ChunkUtil.chunkIndex(chunkX, chunkZ);
+        Long previousChunk = playerLastChunk.put(playerRef.getUuid(), chunkIndex);
+        if (previousChunk == null || previousChunk != chunkIndex) {
+            claimStorage.prefetchAround(worldName, chunkX, chunkZ, PREFETCH_RADIUS);
+        }
+
         // Check if this chunk is claimed
         Message titleMessage = WILDERNESS_MESSAGE;
         String titleText = WILDERNESS_TEXT;
 
-        UUID claimOwner = claimStorage.getClaimOwner(worldName, chunkX, chunkZ);
+        int worldId = WorldRegistry.findId(worldName);
+        UUID claimOwner = claimStorage.mightBeClaimed(worldId, chunkX, chunkZ)
+                ? claimStorage.getClaimOwner(worldId, chunkX, chunkZ) : null;
         if (claimOwner != null) {
             String ownerName = claimStorage.getPlayerName(claimOwner);
             titleText = ownerName + "'s Claim";
@@ -86,6 +100,7 @@ public class ClaimTitleSystem extends EntityTickingSystem<EntityStore> {
      */
     public void removePlayer(UUID playerId) {
         playerLastTitle.remove(playerId);
+        playerLastChunk.remove(playerId);
     }
 
     @Nullable
@@ -8,7 +8,6 @@ import com.hypixel.hytale.component.dependency.Dependency;
 import com.hypixel.hytale.component.dependency.RootDependency;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
-import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.event.events.ecs.InteractivelyPickupItemEvent;
@@ -16,16 +15,12 @@ import com.hypixel.hytale.server.core.modules.entity.component.TransformComponen
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.easyclaims.data.TrustLevel;
-import com.easyclaims.managers.ClaimManager;
-import com.easyclaims.util.Messages;
+import com.easyclaims.managers.ProtectionEngine;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ECS System that intercepts item pickup events to protect claimed areas.
@@ -33,27 +28,11 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ItemPickupProtectionSystem extends EntityEventSystem<EntityStore, InteractivelyPickupItemEvent> {
 
-    private final ClaimManager claimManager;
-    private final HytaleLogger logger;
+    private final ProtectionEngine engine;
 
-    // Rate limit messages - don't spam players
-    private static final Map<UUID, Long> lastMessageTime = new ConcurrentHashMap<>();
-    private static final long MESSAGE_COOLDOWN_MS = 2000; // 2 seconds
-
-    public ItemPickupProtectionSystem(ClaimManager claimManager, HytaleLogger logger) {
+    public ItemPickupProtectionSystem(ProtectionEngine engine) {
         super(InteractivelyPickupItemEvent.class);
-        this.claimManager = claimManager;
-        this.logger = logger;
-    }
-
-    private boolean canSendMessage(UUID playerId) {
-        long now = System.currentTimeMillis();
-        Long lastTime = lastMessageTime.get(playerId);
-        if (lastTime == null || now - lastTime > MESSAGE_COOLDOWN_MS) {
-            lastMessageTime.put(playerId, now);
-            return true;
-        }
-        return false;
+        this.engine = engine;
     }
 
     @Nullable
@@ -87,22 +66,10 @@ public class ItemPickupProtectionSystem extends EntityEventSystem<EntityStore, I
         Vector3d position = transform.getPosition();
         if (position == null) return;
 
-        UUID playerId = playerRef.getUuid();
-        String worldName = player.getWorld().getName();
-
-        // Admin bypass - allow all actions
-        if (player.hasPermission("easyclaims.admin")) {
-            return;
-        }
-
         // Picking up items requires USE trust level (same as basic interaction)
-        if (!claimManager.hasPermissionAt(playerId, worldName, position.getX(), position.getZ(), TrustLevel.USE)) {
+        if (!engine.check(player, playerRef.getUuid(), ProtectionEngine.Action.PICKUP,
+                position.getX(), position.getZ(), TrustLevel.USE)) {
             event.setCancelled(true);
-            if (canSendMessage(playerId)) {
-                player.sendMessage(Messages.cannotPickupItemsHere());
-            }
-            logger.atFine().log("Blocked item pickup: player=%s position=[%.1f, %.1f]",
-                playerId, position.getX(), position.getZ());
         }
     }
 }
@@ -8,22 +8,18 @@ import com.hypixel.hytale.component.dependency.Dependency;
 import com.hypixel.hytale.component.dependency.RootDependency;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
-import com.hypixel.hytale.logger.HytaleLogger;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.easyclaims.managers.ClaimManager;
-import com.easyclaims.util.Messages;
+import com.easyclaims.data.TrustLevel;
+import com.easyclaims.managers.ProtectionEngine;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ECS System that intercepts damage events to protect players in PvP-disabled areas.
@@ -31,27 +27,11 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class PvPProtectionSystem extends EntityEventSystem<EntityStore, Damage> {
 
-    private final ClaimManager claimManager;
-    private final HytaleLogger logger;
+    private final ProtectionEngine engine;
 
-    // Rate limit messages - don't spam players
-    private static final Map<UUID, Long> lastMessageTime = new ConcurrentHashMap<>();
-    private static final long MESSAGE_COOLDOWN_MS = 2000; // 2 seconds
-
-    public PvPProtectionSystem(ClaimManager claimManager, HytaleLogger logger) {
+    public PvPProtectionSystem(ProtectionEngine engine) {
         super(Damage.class);
-        this.claimManager = claimManager;
-        this.logger = logger;
-    }
-
-    private boolean canSendMessage(UUID playerId) {
-        long now = System.currentTimeMillis();
-        Long lastTime = lastMessageTime.get(playerId);
-        if (lastTime == null || now - lastTime > MESSAGE_COOLDOWN_MS) {
-            lastMessageTime.put(playerId, now);
-            return true;
-        }
-        return false;
+        this.engine = engine;
     }
 
     @Nullable
@@ -99,21 +79,17 @@ public class PvPProtectionSystem extends EntityEventSystem<EntityStore, Damage>
         if (victimTransform == null) return;
 
         // Check if PvP is disabled at victim's location
-        String worldName = victimPlayer.getWorld().getName();
         double x = victimTransform.getPosition().getX();
         double z = victimTransform.getPosition().getZ();
 
-        if (!claimManager.isPvPEnabledAt(worldName, x, z)) {
+        if (!engine.checkPvP(victimPlayer, x, z)) {
             // PvP is disabled - cancel the damage
             event.setCancelled(true);
 
             // Notify attacker (with rate limiting)
-            UUID attackerId = attackerPlayerRef.getUuid();
-            if (canSendMessage(attackerId)) {
-                Player attackerPlayer = store.getComponent(attackerRef, Player.getComponentType());
-                if (attackerPlayer != null) {
-                    attackerPlayer.sendMessage(Messages.pvpDisabledHere());
-                }
+            Player attackerPlayer = store.getComponent(attackerRef, Player.getComponentType());
+            if (attackerPlayer != null) {
+                engine.notifyDenied(attackerPlayer, attackerPlayerRef.getUuid(), ProtectionEngine.Action.PVP, TrustLevel.NONE);
             }
         }
     }
@@ -50,6 +50,28 @@ public class ChunkUtil {
         return (chunkZ + 1) * CHUNK_SIZE - 1;
     }
 
+    /**
+     * Packs chunk coordinates into a single long for primitive-keyed maps.
+     * X occupies the high 32 bits, Z the low 32 bits.
+     */
+    public static long chunkIndex(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Extracts the chunk X coordinate from a packed chunk index.
+     */
+    public static int chunkIndexX(long chunkIndex) {
+        return (int) (chunkIndex >> 32);
+    }
+
+    /**
+     * Extracts the chunk Z coordinate from a packed chunk index.
+     */
+    public static int chunkIndexZ(long chunkIndex) {
+        return (int) chunkIndex;
+    }
+
     /**
      * Creates a chunk key string for use in maps/indexes.
      */
@@ -0,0 +1,86 @@
+package com.easyclaims.util;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limits messages per player and per message category, so a player who keeps
+ * hitting the same protection gets one message per cooldown instead of one per event.
+ *
+ * Callers only ask when they are about to send a message (a denial), so the clock is
+ * read there and nowhere else. Call {@link #forgetPlayer} when a player disconnects;
+ * the throttler only holds state for players who are online.
+ */
+public class MessageThrottler {
+    private final int categories;
+    private final long cooldownMs;
+    private final Map<UUID, long[]> lastSent = new ConcurrentHashMap<>(); // player -> send time per category
+    private final LongAdder[] sent;
+    private final LongAdder[] suppressed;
+
+    /**
+     * @param categories number of message categories (callers pass 0..categories-1)
+     * @param cooldownMs minimum time between two messages of one category to one player
+     */
+    public MessageThrottler(int categories, long cooldownMs) {
+        this.categories = categories;
+        this.cooldownMs = cooldownMs;
+        this.sent = new LongAdder[categories];
+        this.suppressed = new LongAdder[categories];
+        for (int i = 0; i < categories; i++) {
+            sent[i] = new LongAdder();
+            suppressed[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Checks if a message of a category may be sent to a player now, and if so starts
+     * its cooldown.
+     * @return true if the message should be sent, false if it is suppressed
+     */
+    public boolean tryAcquire(UUID playerId, int category) {
+        long[] times = lastSent.get(playerId);
+        if (times == null) {
+            times = new long[categories];
+            long[] raced = lastSent.putIfAbsent(playerId, times);
+            if (raced != null) {
+                times = raced;
+            }
+        }
+
+        long time = System.currentTimeMillis();
+        synchronized (times) {
+            if (times[category] != 0 && time - times[category] < cooldownMs) {
+                suppressed[category].increment();
+                return false;
+            }
+            times[category] = time;
+        }
+        sent[category].increment();
+        return true;
+    }
+
+    /**
+     * Drops a player's cooldowns (call when they disconnect).
+     */
+    public void forgetPlayer(UUID playerId) {
+        lastSent.remove(playerId);
+    }
+
+    public long getSentCount(int category) {
+        return sent[category].sum();
+    }
+
+    /**
+     * Gets how many messages of a category were held back by the cooldown.
+     */
+    public long getSuppressedCount(int category) {
+        return suppressed[category].sum();
+    }
+
+    public int getTrackedPlayers() {
+        return lastSent.size();
+    }
+}
@@ -221,6 +221,14 @@ public class Messages {
         return Message.raw("You don't have permission to " + action + " in this claimed area!").color(RED);
     }
 
+    public static Message bypassEnabled() {
+        return Message.raw("Bypass mode on - claims no longer restrict you.").color(GREEN);
+    }
+
+    public static Message bypassDisabled() {
+        return Message.raw("Bypass mode off - claims now protect against you like any player.").color(GREEN);
+    }
+
     // PvP messages
     public static Message pvpDisabledHere() {
         return Message.raw("PvP is disabled in this area!").color(RED);